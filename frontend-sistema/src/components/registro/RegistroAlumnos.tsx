@@ -1,6 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { useAuth0 }                   from '@auth0/auth0-react';
 import axios                          from 'axios';
+import { getAllPages }                from '../../services/api';
 import { FiEdit2, FiTrash2 }          from 'react-icons/fi';
 
 interface ApiAlumno {
@@ -49,9 +50,10 @@ export default function RegistroAlumnos() {
   const fetchAlumnos = async () => {
     try {
       const token = await getAccessTokenSilently();
-      const res = await axios.get<ApiAlumno[]>(
+      const res = await getAllPages<ApiAlumno>(
         `${API_BASE_URL}/alumnos`,
-        { headers: { Authorization: `Bearer ${token}` } }
+        { headers: { Authorization: `Bearer ${token}` } },
+        axios
       );
       const list = res.data
         .map(a => ({
@@ -1,6 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import { useAuth0 } from '@auth0/auth0-react';
-import api, { setAuthToken } from '../../services/api';
+import api, { getAllPages, setAuthToken } from '../../services/api';
 import axios from 'axios';
 import { FiEdit2, FiTrash2 } from 'react-icons/fi';
 
@@ -47,7 +47,7 @@ export default function RegistroDocentes() {
   const fetchDocentes = async () => {
     try {
       await injectToken();
-      const res = await api.get<ApiDocente[]>('/docentes');
+      const res = await getAllPages<ApiDocente>('/docentes');
       const list = res.data
         .map(d => ({
           id: d.id ?? d.idDocente ?? '',
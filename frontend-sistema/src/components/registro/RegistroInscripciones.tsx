@@ -1,6 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import { useAuth0 }                   from '@auth0/auth0-react';
-import api, { setAuthToken }          from '../../services/api';
+import api, { getAllPages, setAuthToken } from '../../services/api';
 import axios                          from 'axios';
 import { FiEdit2, FiTrash2 }          from 'react-icons/fi';
 
@@ -73,10 +73,10 @@ export default function RegistroInscripciones() {
     try {
       await injectToken();
       const [insR, alumR, matR, docR] = await Promise.all([
-        api.get<ApiInscripcion[]>('/alumno-materias'),
-        api.get<ApiAlumno[]>       ('/alumnos'),
-        api.get<ApiMateria[]>      ('/materias'),
-        api.get<ApiDocente[]>      ('/docentes'),
+        getAllPages<ApiInscripcion>('/alumno-materias'),
+        getAllPages<ApiAlumno>     ('/alumnos', { params: { fields: 'nombres' } }),
+        getAllPages<ApiMateria>    ('/materias'),
+        getAllPages<ApiDocente>    ('/docentes', { params: { fields: 'nombres,apellidos' } }),
       ]);
       setInsRaw(insR.data);
       setAlumnos(alumR.data);
@@ -1,6 +1,6 @@
 import React, { useEffect, useState } from 'react';
 import { useAuth0 } from '@auth0/auth0-react';
-import api, { setAuthToken } from '../../services/api';
+import api, { getAllPages, setAuthToken } from '../../services/api';
 import axios from 'axios';
 import { FiEdit2, FiTrash2 } from 'react-icons/fi';
 
@@ -40,7 +40,7 @@ export default function RegistroMaterias() {
   const fetchMaterias = async () => {
     try {
       await injectToken();
-      const res = await api.get<ApiMateria[]>('/materias');
+      const res = await getAllPages<ApiMateria>('/materias');
       const list = res.data
         .map(m => ({
           id: m.idMateria ?? '',
@@ -11,6 +11,8 @@ interface ApiAlumno {
   fechaIngreso: string;
   direccion: string;
   telefono: string;
+  promedio: number | null;
+  materiasAprobadas: number;
 }
 
 interface Alumno {
@@ -20,6 +22,8 @@ interface Alumno {
   fechaIngreso: string;
   direccion: string;
   telefono: string;
+  promedio: number | null;
+  materiasAprobadas: number;
 }
 
 export default function AlumnoProfile() {
@@ -53,7 +57,9 @@ export default function AlumnoProfile() {
           apellidos: data.apellidos,
           fechaIngreso: data.fechaIngreso,
           direccion: data.direccion,
-          telefono: data.telefono
+          telefono: data.telefono,
+          promedio: data.promedio,
+          materiasAprobadas: data.materiasAprobadas
         });
         setDireccion(data.direccion);
         setTelefono(data.telefono);
@@ -119,6 +125,16 @@ export default function AlumnoProfile() {
             <p className="text-sm text-gray-600">Fecha de Ingreso</p>
             <p className="font-medium text-gray-800">{alumno.fechaIngreso}</p>
           </div>
+          <div>
+            <p className="text-sm text-gray-600">Promedio</p>
+            <p className="font-medium text-gray-800">
+              {alumno.promedio != null ? alumno.promedio.toFixed(2) : '—'}
+            </p>
+          </div>
+          <div>
+            <p className="text-sm text-gray-600">Materias aprobadas</p>
+            <p className="font-medium text-gray-800">{alumno.materiasAprobadas}</p>
+          </div>
         </div>
 
         {editMode ? (
@@ -9,6 +9,14 @@ interface BoletaResponse {
   notaFinal: number;
 }
 
+// El promedio y las aprobadas ya vienen calculados por el backend
+interface Boleta {
+  promedio: number | null;
+  materiasConNota: number;
+  materiasAprobadas: number;
+  materias: BoletaResponse[];
+}
+
 export default function Boleta() {
   const {
     getAccessTokenSilently,
@@ -17,6 +25,7 @@ export default function Boleta() {
   } = useAuth0();
 
   const [items, setItems] = useState<BoletaResponse[]>([]);
+  const [resumen, setResumen] = useState<Omit<Boleta, 'materias'> | null>(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
 
@@ -26,8 +35,10 @@ export default function Boleta() {
         authorizationParams: { audience: import.meta.env.VITE_AUTH0_AUDIENCE! }
       });
       setAuthToken(token);
-      const res = await api.get<BoletaResponse[]>('/alumno-materias/me/boleta');
-      setItems(res.data);
+      const res = await api.get<Boleta>('/alumno-materias/me/boleta');
+      const { materias, ...rest } = res.data;
+      setItems(materias);
+      setResumen(rest);
       setError('');
     } catch (e: unknown) {
       if (axios.isAxiosError(e)) {
@@ -59,9 +70,7 @@ export default function Boleta() {
     return <p className="text-center py-8">No hay calificaciones disponibles.</p>;
   }
 
-  const promedio = (
-    items.reduce((sum, i) => sum + i.notaFinal, 0) / items.length
-  ).toFixed(2);
+  const promedio = resumen?.promedio != null ? resumen.promedio.toFixed(2) : '—';
 
   return (
     <section className="max-w-3xl mx-auto space-y-6 p-4 sm:p-6 lg:p-8">
@@ -98,6 +107,9 @@ export default function Boleta() {
 
       <p className="text-right text-lg font-semibold text-gray-800">
         Promedio: <span className="text-indigo-600">{promedio}</span>
+        <span className="ml-4 text-base font-normal text-gray-600">
+          Aprobadas: {resumen?.materiasAprobadas ?? 0} de {resumen?.materiasConNota ?? 0}
+        </span>
       </p>
     </section>
   );
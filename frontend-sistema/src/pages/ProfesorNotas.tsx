@@ -1,6 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { useAuth0 } from '@auth0/auth0-react';
 import axios from 'axios';
+import { getAllPages } from '../services/api';
 import { FiEdit2, FiTrash2 } from 'react-icons/fi';
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL;
@@ -64,10 +65,10 @@ export default function ProfesorNotas() {
     try {
       const token = await getAccessTokenSilently();
       const [insR, alumR, matR, docR] = await Promise.all([
-        axios.get<ApiInscripcion[]>(`${API_BASE_URL}/alumno-materias`, { headers: { Authorization: `Bearer ${token}` } }),
-        axios.get<ApiAlumno[]>(`${API_BASE_URL}/alumnos`, { headers: { Authorization: `Bearer ${token}` } }),
-        axios.get<ApiMateria[]>(`${API_BASE_URL}/materias`, { headers: { Authorization: `Bearer ${token}` } }),
-        axios.get<ApiDocente[]>(`${API_BASE_URL}/docentes`, { headers: { Authorization: `Bearer ${token}` } }),
+        getAllPages<ApiInscripcion>(`${API_BASE_URL}/alumno-materias`, { headers: { Authorization: `Bearer ${token}` } }, axios),
+        getAllPages<ApiAlumno>(`${API_BASE_URL}/alumnos`, { headers: { Authorization: `Bearer ${token}` }, params: { fields: 'nombres' } }, axios),
+        getAllPages<ApiMateria>(`${API_BASE_URL}/materias`, { headers: { Authorization: `Bearer ${token}` } }, axios),
+        getAllPages<ApiDocente>(`${API_BASE_URL}/docentes`, { headers: { Authorization: `Bearer ${token}` }, params: { fields: 'nombres,apellidos' } }, axios),
       ]);
       setInsRaw(insR.data);
       setAlumnos(alumR.data);
@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { type AxiosInstance, type AxiosRequestConfig } from 'axios';
 
 const api = axios.create({
   baseURL: import.meta.env.VITE_API_BASE_URL as string,
@@ -14,4 +14,28 @@ export function setAuthToken(token: string | null) {
   }
 }
 
+// Tamaño máximo de página que acepta el backend (CursorPagination.MAX_SIZE)
+const PAGE_SIZE = 200;
+
+// Los listados del backend vienen paginados por cursor: se siguen las
+// páginas mientras la respuesta traiga la cabecera X-Next-Cursor. Se piden
+// páginas del tamaño máximo para no gastar de más el límite de peticiones.
+export async function getAllPages<T>(
+  url: string,
+  config: AxiosRequestConfig = {},
+  client: Pick<AxiosInstance, 'get'> = api
+): Promise<{ data: T[] }> {
+  const data: T[] = [];
+  let cursor: string | undefined;
+  do {
+    const res = await client.get<T[]>(url, {
+      ...config,
+      params: { size: PAGE_SIZE, ...config.params, cursor },
+    });
+    data.push(...res.data);
+    cursor = res.headers['x-next-cursor'] ?? undefined;
+  } while (cursor);
+  return { data };
+}
+
 export default api;
@@ -0,0 +1,58 @@
+package com.carlospuente.fullstackauth.benchmark;
+
+import com.carlospuente.fullstackauth.security.PermissionsJwtGrantedAuthoritiesConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de claims a authorities con un JWT típico del SPA.
+ * {@code miss} usa un converter nuevo en cada llamada (el costo de armar las
+ * authorities desde cero); {@code hit} reutiliza el mismo converter, como en
+ * producción. Con {@code -prof gc} se ve la asignación por operación.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="AuthoritiesConverter -prof gc -rf json -rff target/jmh-result.json"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthoritiesConverterBenchmark {
+
+    @Param({"miss", "hit"})
+    public String mode;
+
+    private final PermissionsJwtGrantedAuthoritiesConverter shared =
+            new PermissionsJwtGrantedAuthoritiesConverter();
+    private Jwt jwt;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwt = Jwt.withTokenValue("bench")
+                .header("alg", "RS256")
+                .subject("auth0|bench")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .claim("scope", "openid profile email")
+                .claim("permissions", List.of(
+                        "read:alumnos", "write:alumnos", "delete:alumnos",
+                        "read:materias", "write:materias",
+                        "read:docentes", "read:alumno_materias", "write:alumno_materias"))
+                .build();
+        shared.convert(jwt);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convert() {
+        var converter = "hit".equals(mode) ? shared : new PermissionsJwtGrantedAuthoritiesConverter();
+        return converter.convert(jwt);
+    }
+}
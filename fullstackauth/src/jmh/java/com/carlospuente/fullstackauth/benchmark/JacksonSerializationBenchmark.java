@@ -0,0 +1,89 @@
+package com.carlospuente.fullstackauth.benchmark;
+
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaBoletaResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoResponse;
+import com.carlospuente.fullstackauth.domain.dto.DocenteResponse;
+import com.carlospuente.fullstackauth.domain.dto.MateriaResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de los records de respuesta, con el ObjectMapper que arma
+ * Spring MVC. Cada caso escribe una página completa ({@code size} elementos,
+ * 50 es el tamaño por defecto de los listados).
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="JacksonSerialization -rf json -rff target/jmh-result.json"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({"1", "50"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<AlumnoResponse> alumnos;
+    private List<DocenteResponse> docentes;
+    private List<MateriaResponse> materias;
+    private List<AlumnoMateriaResponse> inscripciones;
+    private List<AlumnoMateriaBoletaResponse> boleta;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        LocalDate ingreso = LocalDate.of(2023, 8, 14);
+        alumnos = new ArrayList<>(size);
+        docentes = new ArrayList<>(size);
+        materias = new ArrayList<>(size);
+        inscripciones = new ArrayList<>(size);
+        boleta = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            alumnos.add(new AlumnoResponse(UUID.randomUUID(), "Ana Sofía " + i, "Martínez López",
+                    ingreso, "Av. Reforma 123, Col. Centro", "+52 55 1234 5678"));
+            docentes.add(new DocenteResponse(UUID.randomUUID(), "Carlos " + i, "Puente", ingreso));
+            materias.add(new MateriaResponse(UUID.randomUUID(), "Materia " + i));
+            inscripciones.add(new AlumnoMateriaResponse(UUID.randomUUID(), UUID.randomUUID(),
+                    UUID.randomUUID(), UUID.randomUUID(), "2025-1", 80.0 + i % 20));
+            boleta.add(new AlumnoMateriaBoletaResponse(UUID.randomUUID(), "Materia " + i, 80.0 + i % 20));
+        }
+    }
+
+    @Benchmark
+    public byte[] alumnos() throws JsonProcessingException {
+        return writer.writeValueAsBytes(alumnos);
+    }
+
+    @Benchmark
+    public byte[] docentes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(docentes);
+    }
+
+    @Benchmark
+    public byte[] materias() throws JsonProcessingException {
+        return writer.writeValueAsBytes(materias);
+    }
+
+    @Benchmark
+    public byte[] alumnoMaterias() throws JsonProcessingException {
+        return writer.writeValueAsBytes(inscripciones);
+    }
+
+    @Benchmark
+    public byte[] boleta() throws JsonProcessingException {
+        return writer.writeValueAsBytes(boleta);
+    }
+}
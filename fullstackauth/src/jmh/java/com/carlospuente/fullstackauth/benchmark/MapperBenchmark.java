@@ -0,0 +1,107 @@
+package com.carlospuente.fullstackauth.benchmark;
+
+import com.carlospuente.fullstackauth.domain.dto.*;
+import com.carlospuente.fullstackauth.domain.mapper.AlumnoMapper;
+import com.carlospuente.fullstackauth.domain.mapper.AlumnoMateriaMapper;
+import com.carlospuente.fullstackauth.domain.mapper.DocenteMapper;
+import com.carlospuente.fullstackauth.domain.mapper.MateriaMapper;
+import com.carlospuente.fullstackauth.domain.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión request → entidad y entidad → response de los cuatro mappers.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="MapperBenchmark -rf json -rff target/jmh-result.json"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final AlumnoMapper alumnoMapper = new AlumnoMapper();
+    private final AlumnoMateriaMapper alumnoMateriaMapper = new AlumnoMateriaMapper();
+    private final DocenteMapper docenteMapper = new DocenteMapper();
+    private final MateriaMapper materiaMapper = new MateriaMapper();
+
+    private AlumnoRequest alumnoRequest;
+    private AlumnoMateriaRequest alumnoMateriaRequest;
+    private DocenteRequest docenteRequest;
+    private MateriaRequest materiaRequest;
+
+    private AlumnoEntity alumno;
+    private AlumnoMateriaEntity alumnoMateria;
+    private DocenteEntity docente;
+    private MateriaEntity materia;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate ingreso = LocalDate.of(2023, 8, 14);
+        alumnoRequest = new AlumnoRequest("Ana Sofía", "Martínez López", ingreso,
+                "Av. Reforma 123, Col. Centro", "+52 55 1234 5678");
+        docenteRequest = new DocenteRequest("Carlos", "Puente", ingreso);
+        materiaRequest = new MateriaRequest("Programación Orientada a Objetos");
+
+        alumno = alumnoMapper.toEntity(alumnoRequest);
+        alumno.setIdAlumno(UUID.randomUUID());
+        docente = docenteMapper.toEntity(docenteRequest);
+        docente.setIdDocente(UUID.randomUUID());
+        materia = materiaMapper.toEntity(materiaRequest);
+        materia.setIdMateria(UUID.randomUUID());
+
+        alumnoMateriaRequest = new AlumnoMateriaRequest(
+                alumno.getIdAlumno(), materia.getIdMateria(), docente.getIdDocente(), "2025-1", 87.5);
+        alumnoMateria = alumnoMateriaMapper.toEntity(alumnoMateriaRequest);
+        alumnoMateria.setId(UUID.randomUUID());
+        alumnoMateria.setAlumno(alumno);
+        alumnoMateria.setMateria(materia);
+        alumnoMateria.setDocente(docente);
+    }
+
+    @Benchmark
+    public AlumnoEntity alumnoToEntity() {
+        return alumnoMapper.toEntity(alumnoRequest);
+    }
+
+    @Benchmark
+    public AlumnoResponse alumnoToResponse() {
+        return alumnoMapper.toResponse(alumno);
+    }
+
+    @Benchmark
+    public AlumnoMateriaEntity alumnoMateriaToEntity() {
+        return alumnoMateriaMapper.toEntity(alumnoMateriaRequest);
+    }
+
+    @Benchmark
+    public AlumnoMateriaResponse alumnoMateriaToResponse() {
+        return alumnoMateriaMapper.toResponse(alumnoMateria);
+    }
+
+    @Benchmark
+    public DocenteEntity docenteToEntity() {
+        return docenteMapper.toEntity(docenteRequest);
+    }
+
+    @Benchmark
+    public DocenteResponse docenteToResponse() {
+        return docenteMapper.toResponse(docente);
+    }
+
+    @Benchmark
+    public MateriaEntity materiaToEntity() {
+        return materiaMapper.toEntity(materiaRequest);
+    }
+
+    @Benchmark
+    public MateriaResponse materiaToResponse() {
+        return materiaMapper.toResponse(materia);
+    }
+}
@@ -0,0 +1,72 @@
+package com.carlospuente.fullstackauth.benchmark;
+
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaResponse;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON contra CBOR, con y sin gzip, sobre páginas de inscripciones (el record
+ * con más UUID). El tiempo es el de serializar (y comprimir) la página; los
+ * tamaños en bytes se imprimen al preparar cada combinación.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="ResponseFormat -rf json -rff target/jmh-result.json"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    @Param({"50", "1000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<AlumnoMateriaResponse> inscripciones;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Mismo builder que usan los convertidores de Spring MVC (ver WebConfig)
+        var builder = Jackson2ObjectMapperBuilder.json();
+        if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        }
+        writer = builder.build().writer();
+        inscripciones = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            inscripciones.add(new AlumnoMateriaResponse(UUID.randomUUID(), UUID.randomUUID(),
+                    UUID.randomUUID(), UUID.randomUUID(), "2025-1", 60.0 + i % 41));
+        }
+        System.out.printf("%n%s, %d filas: %d bytes, %d con gzip%n",
+                format, size, serialize().length, gzip().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(inscripciones);
+    }
+
+    @Benchmark
+    public byte[] gzip() throws IOException {
+        var out = new ByteArrayOutputStream();
+        try (var gz = new GZIPOutputStream(out)) {
+            writer.writeValue(gz, inscripciones);
+        }
+        return out.toByteArray();
+    }
+}
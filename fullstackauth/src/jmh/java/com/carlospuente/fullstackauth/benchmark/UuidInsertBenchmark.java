@@ -0,0 +1,112 @@
+package com.carlospuente.fullstackauth.benchmark;
+
+import com.carlospuente.fullstackauth.config.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserción de filas con forma de {@code alumno_materias} usando llaves
+ * UUID aleatorias (v4) frente a UUID v7, contra un MySQL real.
+ * <p>
+ * La conexión se toma de {@code -Dbench.jdbc.url}, {@code -Dbench.jdbc.user}
+ * y {@code -Dbench.jdbc.password}. Al terminar cada esquema se imprime el
+ * tamaño de datos (índice clúster) y de índices secundarios de su tabla.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="UuidInsert -rf json -rff target/jmh-result.json"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 20)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH = 1_000;
+
+    @Param({"RANDOM", "V7"})
+    public String scheme;
+
+    private Connection conn;
+    private PreparedStatement insert;
+    private String table;
+    private final UUID alumno = UUID.randomUUID();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url",
+                        "jdbc:mysql://127.0.0.1:3306/DB_INSTITUTO?rewriteBatchedStatements=true"),
+                System.getProperty("bench.jdbc.user", "puente"),
+                System.getProperty("bench.jdbc.password", "12345"));
+        table = "bench_uuid_" + scheme.toLowerCase();
+        try (Statement st = conn.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS " + table);
+            st.execute("CREATE TABLE " + table + " ("
+                    + " id BINARY(16) NOT NULL PRIMARY KEY,"
+                    + " created_at DATETIME(6) NOT NULL,"
+                    + " ciclo VARCHAR(20) NOT NULL,"
+                    + " nota_final DOUBLE,"
+                    + " id_alumno BINARY(16) NOT NULL,"
+                    + " KEY idx_alumno (id_alumno)"
+                    + ") ENGINE=InnoDB");
+        }
+        conn.setAutoCommit(false);
+        insert = conn.prepareStatement("INSERT INTO " + table
+                + " (id, created_at, ciclo, nota_final, id_alumno) VALUES (?, ?, ?, ?, ?)");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertBatch() throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < BATCH; i++) {
+            UUID id = "V7".equals(scheme) ? UuidV7Generator.next() : UUID.randomUUID();
+            insert.setBytes(1, toBytes(id));
+            insert.setTimestamp(2, now);
+            insert.setString(3, "2025-1");
+            insert.setDouble(4, i % 101);
+            insert.setBytes(5, toBytes(alumno));
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        conn.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void report() throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("ANALYZE TABLE " + table);
+            try (ResultSet rs = st.executeQuery(
+                    "SELECT TABLE_ROWS, DATA_LENGTH, INDEX_LENGTH, DATA_FREE FROM information_schema.TABLES"
+                            + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '" + table + "'")) {
+                if (rs.next()) {
+                    System.out.printf("%n[%s] filas≈%d  clúster=%.1f MiB  secundarios=%.1f MiB  libre=%.1f MiB%n",
+                            scheme, rs.getLong(1), mib(rs.getLong(2)), mib(rs.getLong(3)), mib(rs.getLong(4)));
+                }
+            }
+            if (!Boolean.getBoolean("bench.keep")) {
+                st.execute("DROP TABLE " + table);
+            }
+        }
+        conn.commit();
+        conn.close();
+    }
+
+    private static double mib(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
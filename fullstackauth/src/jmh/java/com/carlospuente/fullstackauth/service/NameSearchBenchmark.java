@@ -0,0 +1,66 @@
+package com.carlospuente.fullstackauth.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda en {@link NameSearchIndex} con {@code size} personas de nombres
+ * combinados al azar (semilla fija): un prefijo corto, que trae muchos
+ * candidatos, un nombre completo y un apellido con un error de tecleo.
+ * Vive en el paquete {@code service} porque el índice es package-private.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="NameSearchBenchmark -rf json -rff target/jmh-result.json"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NameSearchBenchmark {
+
+    private static final String[] NOMBRES = {
+            "Ana", "Andrés", "Carlos", "Carmen", "Daniela", "Diego", "Fernanda", "Gabriel", "Isabel", "Javier",
+            "José", "Juan", "Laura", "Luis", "María", "Mariana", "Miguel", "Patricia", "Ricardo", "Sofía"};
+    private static final String[] APELLIDOS = {
+            "Álvarez", "Castillo", "Cruz", "Díaz", "Flores", "García", "Gómez", "González", "Hernández", "Jiménez",
+            "López", "Martínez", "Morales", "Ortiz", "Pérez", "Ramírez", "Reyes", "Rodríguez", "Sánchez", "Torres"};
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private NameSearchIndex<UUID> index;
+
+    @Setup
+    public void setUp() {
+        index = new NameSearchIndex<>();
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            UUID id = UUID.randomUUID();
+            index.put(id,
+                    NOMBRES[random.nextInt(NOMBRES.length)],
+                    APELLIDOS[random.nextInt(APELLIDOS.length)] + " " + APELLIDOS[random.nextInt(APELLIDOS.length)],
+                    id);
+        }
+    }
+
+    @Benchmark
+    public List<UUID> shortPrefix() {
+        return index.search("ma", 50);
+    }
+
+    @Benchmark
+    public List<UUID> fullName() {
+        return index.search("maría gonzález", 50);
+    }
+
+    @Benchmark
+    public List<UUID> typo() {
+        return index.search("rodrigez", 50);
+    }
+}
@@ -0,0 +1,114 @@
+package com.carlospuente.fullstackauth.service;
+
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaRequest;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoRequest;
+import com.carlospuente.fullstackauth.domain.dto.DocenteRequest;
+import com.carlospuente.fullstackauth.domain.dto.MateriaRequest;
+import com.carlospuente.fullstackauth.exception.BadRequestException;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code validateRequest} de cada servicio, con un request válido y con uno
+ * inválido (el costo de construir y lanzar la excepción).
+ * Vive en el paquete {@code service} porque los métodos son package-private;
+ * las validaciones no tocan repositorios, así que se instancian sin ellos.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@jmh -Djmh.args="ValidationBenchmark -rf json -rff target/jmh-result.json"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final AlumnoServiceImpl alumnos = new AlumnoServiceImpl(null, null, null, null, null, null);
+    private final DocenteServiceImpl docentes = new DocenteServiceImpl(null, null);
+    private final MateriaServiceImpl materias = new MateriaServiceImpl(null, null, null, null, null, null);
+    private final AlumnoMateriaServiceImpl inscripciones =
+            new AlumnoMateriaServiceImpl(null, null, null, null, null, null, null);
+
+    private final LocalDate ingreso = LocalDate.of(2023, 8, 14);
+
+    private final AlumnoRequest alumnoOk = new AlumnoRequest(
+            "Ana Sofía", "Martínez López", ingreso, "Av. Reforma 123, Col. Centro", "+52 55 1234 5678");
+    private final AlumnoRequest alumnoBad = new AlumnoRequest(
+            "Ana Sofía", "Martínez López", ingreso, "Av. Reforma 123, Col. Centro", "tel-abc");
+
+    private final DocenteRequest docenteOk = new DocenteRequest("Carlos", "Puente", ingreso);
+    private final DocenteRequest docenteBad = new DocenteRequest("Carlos", " ", ingreso);
+
+    private final MateriaRequest materiaOk = new MateriaRequest("Programación Orientada a Objetos");
+    private final MateriaRequest materiaBad = new MateriaRequest("PO");
+
+    private final AlumnoMateriaRequest inscripcionOk = new AlumnoMateriaRequest(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "2025-1", 87.5);
+    private final AlumnoMateriaRequest inscripcionBad = new AlumnoMateriaRequest(
+            UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "2025-3", 87.5);
+
+    @Benchmark
+    public void alumnoValid() {
+        alumnos.validateRequest(alumnoOk);
+    }
+
+    @Benchmark
+    public Object alumnoInvalid() {
+        try {
+            alumnos.validateRequest(alumnoBad);
+            return null;
+        } catch (BadRequestException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void docenteValid() {
+        docentes.validateRequest(docenteOk);
+    }
+
+    @Benchmark
+    public Object docenteInvalid() {
+        try {
+            docentes.validateRequest(docenteBad);
+            return null;
+        } catch (BadRequestException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void materiaValid() {
+        materias.validateRequest(materiaOk);
+    }
+
+    @Benchmark
+    public Object materiaInvalid() {
+        try {
+            materias.validateRequest(materiaBad);
+            return null;
+        } catch (BadRequestException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void alumnoMateriaValid() {
+        inscripciones.validateRequest(inscripcionOk);
+    }
+
+    @Benchmark
+    public Object alumnoMateriaInvalid() {
+        try {
+            inscripciones.validateRequest(inscripcionBad);
+            return null;
+        } catch (BadRequestException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.carlospuente.fullstackauth.config;
+
+import com.carlospuente.fullstackauth.security.CachingJwtDecoder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Boleta por alumno, con llave auth0Id. */
+    public static final String BOLETA = "boleta";
+
+    /** JWT ya verificados, con llave hash del token. */
+    public static final String JWT = "jwt";
+
+    /** Regiones de la cache de segundo nivel de Hibernate para los catálogos. */
+    public static final String L2_MATERIAS = "materias";
+    public static final String L2_DOCENTES = "docentes";
+
+    /**
+     * Cache de segundo nivel de Hibernate (JCache sobre Caffeine), propia de
+     * este contexto. Las entidades y la cache de consultas se acotan por
+     * tamaño y TTL; el TTL solo importa si alguien escribe en las tablas
+     * sin pasar por Hibernate, ya que sus propias escrituras las invalidan.
+     */
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager hibernateCacheManager(
+            @Value("${app.cache.catalogos.max-size:10000}") long maxSize,
+            @Value("${app.cache.catalogos.ttl:1h}") Duration ttl
+    ) {
+        javax.cache.CacheManager manager = new CaffeineCachingProvider().getCacheManager();
+        CaffeineConfiguration<Object, Object> bounded = new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maxSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()))
+                // Hibernate ya guarda copias desensambladas; no hace falta serializarlas otra vez
+                .setStoreByValue(false)
+                .setNativeStatisticsEnabled(true);
+        manager.createCache(L2_MATERIAS, bounded);
+        manager.createCache(L2_DOCENTES, bounded);
+        manager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded);
+        // Marcas de última escritura por tabla: una entrada por tabla, nunca se desaloja
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>().setStoreByValue(false));
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(javax.cache.CacheManager hibernateCacheManager) {
+        return props -> {
+            props.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Las regiones se declaran arriba; una región desconocida es un error
+            props.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public Cache<String, Jwt> jwtCache(
+            @Value("${app.cache.jwt.max-size:10000}") long maxSize,
+            @Value("${app.cache.jwt.max-ttl:1h}") Duration maxTtl
+    ) {
+        return CachingJwtDecoder.newCache(maxSize, maxTtl, Clock.systemUTC());
+    }
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.boleta.max-size:10000}") long boletaMaxSize,
+            @Value("${app.cache.boleta.ttl:10m}") Duration boletaTtl,
+            Cache<String, Jwt> jwtCache
+    ) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.setCacheSpecification("maximumSize=1000,expireAfterWrite=10m,recordStats");
+        caffeine.registerCustomCache(BOLETA, Caffeine.newBuilder()
+                .maximumSize(boletaMaxSize)
+                .expireAfterWrite(boletaTtl)
+                .recordStats()
+                .build());
+        // Se registra solo para exponer sus estadísticas junto a las demás;
+        // el decoder la usa directamente, sin pasar por la abstracción de Spring
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Cache<Object, Object> jwt = (Cache) jwtCache;
+        caffeine.registerCustomCache(JWT, jwt);
+        // Los evict/put dentro de una transacción se aplican hasta el commit,
+        // así una lectura concurrente no vuelve a cachear datos sin confirmar.
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
@@ -0,0 +1,75 @@
+package com.carlospuente.fullstackauth.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Lectura de lo propio escrito (read-your-writes) sobre réplicas.
+ * <p>
+ * Al confirmarse una transacción de escritura se marca la petición actual y,
+ * si {@code window} es mayor que cero, también al principal durante ese lapso.
+ * Mientras la marca exista, las transacciones de solo lectura van al primario
+ * en lugar de a una réplica que quizá aún no recibe el cambio.
+ */
+public class ReadYourWrites implements TransactionExecutionListener {
+
+    private static final String WROTE_ATTR = ReadYourWrites.class.getName() + ".WROTE";
+
+    @Nullable
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window, long maxPrincipals) {
+        this.recentWriters = window.isZero() || window.isNegative()
+                ? null
+                : Caffeine.newBuilder()
+                        .maximumSize(maxPrincipals)
+                        .expireAfterWrite(window)
+                        .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution tx, @Nullable Throwable commitFailure) {
+        if (commitFailure == null && tx.isNewTransaction() && !tx.isReadOnly()) {
+            markWrite();
+        }
+    }
+
+    void markWrite() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(WROTE_ATTR, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+        String principal = principal();
+        if (recentWriters != null && principal != null) {
+            recentWriters.put(principal, Boolean.TRUE);
+        }
+    }
+
+    /** Indica si la lectura en curso debe ir al primario. */
+    boolean primaryRequired() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(WROTE_ATTR, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        if (recentWriters == null) {
+            return false;
+        }
+        String principal = principal();
+        return principal != null && recentWriters.getIfPresent(principal) != null;
+    }
+
+    @Nullable
+    private static String principal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : null;
+    }
+}
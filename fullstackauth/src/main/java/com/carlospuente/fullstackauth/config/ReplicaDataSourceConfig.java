@@ -0,0 +1,107 @@
+package com.carlospuente.fullstackauth.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enrutamiento lectura/escritura: las transacciones {@code readOnly = true} se
+ * atienden en una réplica y el resto en el primario.
+ * <p>
+ * Se activa al declarar {@code app.datasource.replicas[0].url}. El
+ * {@link LazyConnectionDataSourceProxy} retrasa la conexión física hasta la
+ * primera sentencia, cuando ya se sabe si la transacción es de solo lectura.
+ * Con réplicas se apaga la cache de consultas de Hibernate.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas[0]", name = "url")
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+    // Los pools no son beans, así que se cierran aquí al apagar el contexto
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    /** Conexión a una réplica; usuario y contraseña se heredan del primario si faltan. */
+    public record Replica(String url, String username, String password, Integer maximumPoolSize) {
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(
+            @Value("${app.datasource.read-your-writes.window:2s}") Duration window,
+            @Value("${app.datasource.read-your-writes.max-principals:10000}") long maxPrincipals
+    ) {
+        return new ReadYourWrites(window, maxPrincipals);
+    }
+
+    @Bean
+    public DataSource dataSource(
+            DataSourceProperties properties,
+            Environment env,
+            ReadYourWrites readYourWrites,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        Binder binder = Binder.get(env);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        pools.add(primary);
+
+        List<Replica> configs = binder.bind("app.datasource.replicas", Bindable.listOf(Replica.class))
+                .orElse(List.of());
+        List<HikariDataSource> replicas = new ArrayList<>(configs.size());
+        for (int i = 0; i < configs.size(); i++) {
+            Replica cfg = configs.get(i);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(cfg.url());
+            replica.setUsername(cfg.username() != null ? cfg.username() : primary.getUsername());
+            replica.setPassword(cfg.password() != null ? cfg.password() : primary.getPassword());
+            replica.setDriverClassName(primary.getDriverClassName());
+            replica.setMaximumPoolSize(cfg.maximumPoolSize() != null
+                    ? cfg.maximumPoolSize() : primary.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            // El pool primario lo registra Spring Boot; las réplicas no son beans
+            meterRegistry.ifAvailable(r -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(r)));
+            replicas.add(replica);
+            pools.add(replica);
+        }
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas, readYourWrites));
+        return proxy;
+    }
+
+    /**
+     * Sin cache de consultas con réplicas: una lectura de una réplica atrasada
+     * justo después de una escritura volvería a llenarla con datos viejos, y
+     * con una marca de tiempo posterior a la invalidación. Las consultas con
+     * HINT_CACHEABLE (catálogos y versiones de los ETag) van entonces a la base.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaQueryCacheCustomizer() {
+        return props -> props.put(AvailableSettings.USE_QUERY_CACHE, false);
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,36 @@
+package com.carlospuente.fullstackauth.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Confirma al arrancar en qué hilos se atienden las peticiones con el perfil
+ * {@code virtual}. El proyecto compila para Java 17, pero el mismo jar sobre
+ * una JVM 21+ activa {@code spring.threads.virtual.enabled}; en una anterior
+ * Spring Boot ignora la propiedad y sigue usando el pool de Tomcat.
+ */
+@Component
+@Profile("virtual")
+public class VirtualThreadsCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsCheck.class);
+
+    static boolean supported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        int version = Runtime.version().feature();
+        if (!supported()) {
+            log.warn("Perfil 'virtual' activo en Java {}: los hilos virtuales requieren Java 21+, "
+                    + "se usa el pool de hilos de plataforma", version);
+        } else {
+            log.info("Peticiones atendidas en hilos virtuales (Java {})", version);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.carlospuente.fullstackauth.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class WebConfig {
+
+    /**
+     * CBOR para los clientes que lo piden con {@code Accept: application/cbor}.
+     * Sale del mismo builder que el ObjectMapper de JSON, así respeta los
+     * {@code spring.jackson.*} y los dos formatos escriben los mismos campos.
+     * JSON sigue siendo el formato por defecto: va primero en el
+     * {@code produces} de los controladores.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,7 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+public record AlumnoImportError(
+        long linea,
+        int status,
+        String message
+) {}
@@ -0,0 +1,12 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import java.util.List;
+
+public record AlumnoImportResponse(
+        int total,
+        int created,
+        int failed,
+        long duracionMs,
+        double filasPorSegundo,
+        List<AlumnoImportError> errors
+) {}
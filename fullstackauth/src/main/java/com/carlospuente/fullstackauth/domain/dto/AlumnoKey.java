@@ -0,0 +1,9 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import java.time.LocalDate;
+
+public record AlumnoKey(
+        String nombres,
+        String apellidos,
+        LocalDate fechaIngreso
+) {}
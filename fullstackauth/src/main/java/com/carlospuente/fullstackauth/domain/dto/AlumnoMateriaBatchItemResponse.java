@@ -0,0 +1,10 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import java.util.UUID;
+
+public record AlumnoMateriaBatchItemResponse(
+        int index,
+        int status,
+        UUID id,
+        String message
+) {}
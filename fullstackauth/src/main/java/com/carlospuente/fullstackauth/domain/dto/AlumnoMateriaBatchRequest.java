@@ -0,0 +1,8 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import jakarta.validation.constraints.*;
+import java.util.List;
+
+public record AlumnoMateriaBatchRequest(
+        @NotEmpty @Size(max = 500) List<AlumnoMateriaRequest> items
+) {}
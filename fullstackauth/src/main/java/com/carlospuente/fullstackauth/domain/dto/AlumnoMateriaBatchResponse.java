@@ -0,0 +1,10 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import java.util.List;
+
+public record AlumnoMateriaBatchResponse(
+        int total,
+        int created,
+        int failed,
+        List<AlumnoMateriaBatchItemResponse> results
+) {}
@@ -0,0 +1,16 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import java.util.UUID;
+
+/** Una fila de la exportación de inscripciones; el orden de los campos es el de las columnas del CSV. */
+public record AlumnoMateriaExportRow(
+        UUID id,
+        UUID alumnoId,
+        String apellidos,
+        String nombres,
+        UUID materiaId,
+        String materia,
+        UUID docenteId,
+        String ciclo,
+        Double notaFinal
+) {}
@@ -0,0 +1,9 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import java.util.UUID;
+
+public record AlumnoMateriaKey(
+        UUID alumnoId,
+        UUID materiaId,
+        String ciclo
+) {}
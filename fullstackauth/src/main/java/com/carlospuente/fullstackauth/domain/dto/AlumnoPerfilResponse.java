@@ -0,0 +1,17 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/** {@link AlumnoResponse} más el promedio acumulado, para {@code /api/alumnos/me}. */
+public record AlumnoPerfilResponse(
+        UUID idAlumno,
+        String nombres,
+        String apellidos,
+        LocalDate fechaIngreso,
+        String direccion,
+        String telefono,
+        Double promedio,
+        long materiasConNota,
+        long materiasAprobadas
+) {}
@@ -0,0 +1,10 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import java.util.List;
+
+public record BoletaResponse(
+        Double promedio,
+        long materiasConNota,
+        long materiasAprobadas,
+        List<AlumnoMateriaBoletaResponse> materias
+) {}
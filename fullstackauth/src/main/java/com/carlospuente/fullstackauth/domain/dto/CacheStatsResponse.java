@@ -0,0 +1,10 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+public record CacheStatsResponse(
+        String name,
+        long size,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions
+) {}
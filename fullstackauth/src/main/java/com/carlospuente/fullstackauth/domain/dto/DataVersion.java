@@ -0,0 +1,14 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión de un conjunto de filas: cuántas son y la última modificación
+ * ({@code updatedAt}, o {@code createdAt} si nunca se actualizó). Un alta o
+ * un cambio mueve la fecha y una baja el conteo. Sin filas, {@code lastModified}
+ * es null.
+ */
+public record DataVersion(
+        long rows,
+        LocalDateTime lastModified
+) {}
@@ -1,11 +1,21 @@
 package com.carlospuente.fullstackauth.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.Instant;
+import java.util.List;
 
 public record ErrorResponse(
         Instant timestamp,
         int status,
         String error,
         String message,
-        String path
-) {}
\ No newline at end of file
+        String path,
+        // Una entrada por regla incumplida; solo en errores de validación
+        @JsonInclude(JsonInclude.Include.NON_EMPTY) List<String> violations
+) {
+
+    public ErrorResponse(Instant timestamp, int status, String error, String message, String path) {
+        this(timestamp, status, error, message, path, List.of());
+    }
+}
@@ -0,0 +1,21 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Estadísticas de notas de una materia en un ciclo. Promedio, mínimo, máximo
+ * y tasa de aprobación son null si ninguna inscripción tiene nota; el
+ * histograma cuenta notas en rangos de 10 puntos ([0, 10) ... [90, 100]).
+ */
+public record EstadisticaMateriaCicloResponse(
+        UUID materiaId,
+        String ciclo,
+        long inscritos,
+        long conNota,
+        Double promedio,
+        Double notaMinima,
+        Double notaMaxima,
+        Double tasaAprobacion,
+        List<Long> histograma
+) {}
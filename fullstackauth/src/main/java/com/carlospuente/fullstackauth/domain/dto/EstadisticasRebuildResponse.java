@@ -0,0 +1,7 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+public record EstadisticasRebuildResponse(
+        int grupos,
+        int alumnos,
+        long duracionMs
+) {}
@@ -1,7 +1,5 @@
 package com.carlospuente.fullstackauth.domain.dto;
 
-import jakarta.validation.constraints.*;
-
 public record MateriaRequest(
-        @NotBlank @Size(max = 100) String nombreMateria
+        String nombreMateria
 ) {}
\ No newline at end of file
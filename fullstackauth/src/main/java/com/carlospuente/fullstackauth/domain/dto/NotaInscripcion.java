@@ -0,0 +1,11 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+import java.util.UUID;
+
+/** Lo que una inscripción aporta a las estadísticas de su materia y ciclo y al promedio de su alumno. */
+public record NotaInscripcion(
+        UUID alumnoId,
+        UUID materiaId,
+        String ciclo,
+        Double notaFinal
+) {}
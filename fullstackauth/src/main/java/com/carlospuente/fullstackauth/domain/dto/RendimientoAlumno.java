@@ -0,0 +1,16 @@
+package com.carlospuente.fullstackauth.domain.dto;
+
+/** Acumulado de notas de un alumno, tal como está en la tabla alumnos. */
+public record RendimientoAlumno(
+        double sumaNotas,
+        long materiasConNota,
+        long materiasAprobadas
+) {
+
+    public static final RendimientoAlumno VACIO = new RendimientoAlumno(0, 0, 0);
+
+    /** Promedio simple a dos decimales (las materias no tienen créditos); null sin notas. */
+    public Double promedio() {
+        return materiasConNota == 0 ? null : Math.round(sumaNotas / materiasConNota * 100) / 100.0;
+    }
+}
@@ -1,8 +1,10 @@
 package com.carlospuente.fullstackauth.domain.mapper;
 
 import com.carlospuente.fullstackauth.domain.model.AlumnoEntity;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoPerfilResponse;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoRequest;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoResponse;
+import com.carlospuente.fullstackauth.domain.dto.RendimientoAlumno;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -31,6 +33,22 @@ public class AlumnoMapper {
         );
     }
 
+    public AlumnoPerfilResponse toPerfilResponse(AlumnoEntity e) {
+        if (e == null) return null;
+        var rendimiento = new RendimientoAlumno(e.getSumaNotas(), e.getMateriasConNota(), e.getMateriasAprobadas());
+        return new AlumnoPerfilResponse(
+                e.getIdAlumno(),
+                e.getNombres(),
+                e.getApellidos(),
+                e.getFechaIngreso(),
+                e.getDireccion(),
+                e.getTelefono(),
+                rendimiento.promedio(),
+                rendimiento.materiasConNota(),
+                rendimiento.materiasAprobadas()
+        );
+    }
+
     public void updateEntityFromDto(AlumnoRequest dto, AlumnoEntity e) {
         if (dto == null || e == null) return;
         if (dto.nombres() != null)       e.setNombres(dto.nombres());
@@ -1,9 +1,11 @@
 package com.carlospuente.fullstackauth.domain.model;
 
 import com.carlospuente.fullstackauth.config.BaseEntity;
+import com.carlospuente.fullstackauth.config.UuidV7Generator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.io.Serializable;
@@ -21,7 +23,7 @@ public class AlumnoEntity extends BaseEntity implements Serializable {
 
     @Id
     @GeneratedValue
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "id_alumno", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
     @EqualsAndHashCode.Include
     private UUID idAlumno;
@@ -44,6 +46,21 @@ public class AlumnoEntity extends BaseEntity implements Serializable {
     @Column(name = "telefono", nullable = false, length = 20)
     private String telefono;
 
+    // Acumulado de sus notas para el promedio. Solo lo escribe SQL (ver
+    // AlumnoRepositoryCustom) en la misma transacción que la inscripción,
+    // así que JPA nunca lo inserta ni lo actualiza.
+    @ColumnDefault("0")
+    @Column(name = "suma_notas", nullable = false, insertable = false, updatable = false)
+    private double sumaNotas;
+
+    @ColumnDefault("0")
+    @Column(name = "materias_con_nota", nullable = false, insertable = false, updatable = false)
+    private long materiasConNota;
+
+    @ColumnDefault("0")
+    @Column(name = "materias_aprobadas", nullable = false, insertable = false, updatable = false)
+    private long materiasAprobadas;
+
     @JsonIgnore
     @OneToMany(mappedBy = "alumno", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<AlumnoMateriaEntity> materiasCursadas = new ArrayList<>();
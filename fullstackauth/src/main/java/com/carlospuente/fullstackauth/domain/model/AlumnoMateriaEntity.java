@@ -4,20 +4,32 @@ import java.io.Serializable;
 import java.util.UUID;
 
 import com.carlospuente.fullstackauth.config.BaseEntity;
+import com.carlospuente.fullstackauth.config.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.UuidGenerator;
 
 @Entity
-@Table(name = "alumno_materias")
+@Table(
+        name = "alumno_materias",
+        uniqueConstraints = @UniqueConstraint(
+                name = AlumnoMateriaEntity.UK_INSCRIPCION,
+                columnNames = {"id_alumno", "id_materia", "ciclo"}
+        ),
+        // Recalcula mínimo y máximo de una materia y ciclo al dar de baja una nota
+        indexes = @Index(name = "idx_alumno_materias_materia_ciclo", columnList = "id_materia, ciclo")
+)
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 public class AlumnoMateriaEntity extends BaseEntity implements Serializable {
 
+    // Un alumno no puede inscribir la misma materia dos veces en un ciclo
+    public static final String UK_INSCRIPCION = "uk_alumno_materia_ciclo";
+
     @Id
     @GeneratedValue
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "id", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
     @EqualsAndHashCode.Include
     private UUID id;
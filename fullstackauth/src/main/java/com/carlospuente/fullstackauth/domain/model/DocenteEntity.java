@@ -1,8 +1,12 @@
 package com.carlospuente.fullstackauth.domain.model;
 
 import com.carlospuente.fullstackauth.config.BaseEntity;
+import com.carlospuente.fullstackauth.config.CacheConfig;
+import com.carlospuente.fullstackauth.config.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.io.Serializable;
@@ -11,6 +15,8 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "docentes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.L2_DOCENTES)
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -18,7 +24,7 @@ public class DocenteEntity extends BaseEntity implements Serializable {
 
     @Id
     @GeneratedValue
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "id_docente", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
     @EqualsAndHashCode.Include
     private UUID idDocente;
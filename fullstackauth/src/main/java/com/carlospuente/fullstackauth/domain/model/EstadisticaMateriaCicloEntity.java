@@ -0,0 +1,85 @@
+package com.carlospuente.fullstackauth.domain.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Resumen de notas de una materia en un ciclo, mantenido por las altas, cambios
+ * y bajas de inscripciones para que leer las estadísticas sea una búsqueda por
+ * PK y no un recorrido de alumno_materias.
+ * <p>
+ * Solo se escribe con SQL (ver EstadisticaMateriaCicloRepositoryCustom): los
+ * contadores se suman y restan en la propia base para no perder cambios
+ * concurrentes.
+ */
+@Entity
+@Immutable
+@Table(name = "estadisticas_materia_ciclo")
+@Getter
+@NoArgsConstructor
+public class EstadisticaMateriaCicloEntity implements Serializable {
+
+    /** Nota mínima para aprobar. */
+    public static final double NOTA_APROBATORIA = 60;
+
+    /** Rangos de 10 puntos: [0, 10), [10, 20) ... [90, 100]. */
+    public static final int RANGOS = 10;
+
+    @EmbeddedId
+    private Clave id;
+
+    @Column(name = "inscritos", nullable = false)
+    private long inscritos;
+
+    @Column(name = "con_nota", nullable = false)
+    private long conNota;
+
+    @Column(name = "suma_notas", nullable = false)
+    private double sumaNotas;
+
+    @Column(name = "aprobados", nullable = false)
+    private long aprobados;
+
+    @Column(name = "nota_minima")
+    private Double notaMinima;
+
+    @Column(name = "nota_maxima")
+    private Double notaMaxima;
+
+    @Column(name = "hist_0", nullable = false) private long hist0;
+    @Column(name = "hist_1", nullable = false) private long hist1;
+    @Column(name = "hist_2", nullable = false) private long hist2;
+    @Column(name = "hist_3", nullable = false) private long hist3;
+    @Column(name = "hist_4", nullable = false) private long hist4;
+    @Column(name = "hist_5", nullable = false) private long hist5;
+    @Column(name = "hist_6", nullable = false) private long hist6;
+    @Column(name = "hist_7", nullable = false) private long hist7;
+    @Column(name = "hist_8", nullable = false) private long hist8;
+    @Column(name = "hist_9", nullable = false) private long hist9;
+
+    public long[] histograma() {
+        return new long[]{hist0, hist1, hist2, hist3, hist4, hist5, hist6, hist7, hist8, hist9};
+    }
+
+    /** Rango del histograma de una nota; el 100 cae en el último. */
+    public static int rango(double nota) {
+        return Math.max(0, Math.min((int) (nota / 10), RANGOS - 1));
+    }
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Clave implements Serializable {
+
+        @Column(name = "id_materia", nullable = false, columnDefinition = "BINARY(16)")
+        private UUID idMateria;
+
+        @Column(name = "ciclo", nullable = false, length = 20)
+        private String ciclo;
+    }
+}
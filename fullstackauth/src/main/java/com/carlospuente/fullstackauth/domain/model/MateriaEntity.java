@@ -1,6 +1,8 @@
 package com.carlospuente.fullstackauth.domain.model;
 
 import com.carlospuente.fullstackauth.config.BaseEntity;
+import com.carlospuente.fullstackauth.config.CacheConfig;
+import com.carlospuente.fullstackauth.config.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -13,10 +15,14 @@ import java.util.List;
 import java.util.UUID;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UuidGenerator;
 
 @Entity
 @Table(name = "materias")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.L2_MATERIAS)
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
@@ -24,7 +30,7 @@ public class MateriaEntity extends BaseEntity implements Serializable {
 
     @Id
     @GeneratedValue
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "id_materia", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
     @EqualsAndHashCode.Include
     private UUID idMateria;
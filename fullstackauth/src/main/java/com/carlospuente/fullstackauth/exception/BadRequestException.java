@@ -1,7 +1,23 @@
 package com.carlospuente.fullstackauth.exception;
 
+import java.util.List;
+
 public class BadRequestException extends RuntimeException {
+
+    private final List<String> violations;
+
     public BadRequestException(String message) {
         super(message);
+        this.violations = List.of(message);
+    }
+
+    /** Varias violaciones detectadas a la vez; el mensaje las une con "; ". */
+    public BadRequestException(List<String> violations) {
+        super(String.join("; ", violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<String> getViolations() {
+        return violations;
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,116 @@
 package com.carlospuente.fullstackauth.repository;
 
-import com.carlospuente.fullstackauth.domain.model.AlumnoEntity;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaBoletaResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaKey;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaResponse;
+import com.carlospuente.fullstackauth.domain.dto.NotaInscripcion;
 import com.carlospuente.fullstackauth.domain.model.AlumnoMateriaEntity;
-import com.carlospuente.fullstackauth.domain.model.MateriaEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface AlumnoMateriaRepository extends JpaRepository<AlumnoMateriaEntity, UUID> {
-    boolean existsByAlumnoAndMateriaAndCiclo(
-            AlumnoEntity alumno,
-            MateriaEntity materia,
-            String ciclo
+public interface AlumnoMateriaRepository
+        extends JpaRepository<AlumnoMateriaEntity, UUID>, SparseFieldsRepository<AlumnoMateriaEntity>,
+        AlumnoMateriaRepositoryCustom {
+
+    // Campos de la respuesta que acepta ?fields= (ver SparseFields)
+    SparseFields<AlumnoMateriaEntity> FIELDS = SparseFields.of(AlumnoMateriaEntity.class, "id",
+            "id", "alumnoId=alumno.idAlumno", "materiaId=materia.idMateria", "docenteId=docente.idDocente",
+            "ciclo", "notaFinal");
+
+    // Lecturas proyectadas directo a DTO: los IDs salen de las columnas FK
+    // y el nombre de la materia de un join, así cada llamada es una sola sentencia.
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaResponse(
+                am.id, am.alumno.idAlumno, am.materia.idMateria, am.docente.idDocente, am.ciclo, am.notaFinal)
+            from AlumnoMateriaEntity am
+            order by am.id""")
+    List<AlumnoMateriaResponse> findResponsePage(Limit limit);
+
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaResponse(
+                am.id, am.alumno.idAlumno, am.materia.idMateria, am.docente.idDocente, am.ciclo, am.notaFinal)
+            from AlumnoMateriaEntity am
+            where am.id > :after
+            order by am.id""")
+    List<AlumnoMateriaResponse> findResponsePageAfter(@Param("after") UUID after, Limit limit);
+
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaResponse(
+                am.id, am.alumno.idAlumno, am.materia.idMateria, am.docente.idDocente, am.ciclo, am.notaFinal)
+            from AlumnoMateriaEntity am
+            where am.id = :id""")
+    Optional<AlumnoMateriaResponse> findResponseById(@Param("id") UUID id);
+
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaBoletaResponse(
+                am.id, m.nombreMateria, am.notaFinal)
+            from AlumnoMateriaEntity am
+            join am.materia m
+            where am.alumno.auth0Id = :auth0Id""")
+    List<AlumnoMateriaBoletaResponse> findBoletaByAuth0Id(@Param("auth0Id") String auth0Id);
+
+    // Superconjunto de las llaves (alumno, materia, ciclo) ya inscritas para un lote;
+    // el filtro exacto por combinación se hace en memoria.
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaKey(
+                am.alumno.idAlumno, am.materia.idMateria, am.ciclo)
+            from AlumnoMateriaEntity am
+            where am.alumno.idAlumno in :alumnoIds
+              and am.materia.idMateria in :materiaIds
+              and am.ciclo in :ciclos""")
+    List<AlumnoMateriaKey> findExistingKeys(
+            @Param("alumnoIds") Collection<UUID> alumnoIds,
+            @Param("materiaIds") Collection<UUID> materiaIds,
+            @Param("ciclos") Collection<String> ciclos
     );
-    List<AlumnoMateriaEntity> findByAlumno_Auth0Id(String auth0Id);
+
+    // Comprueba alumno, materia y docente de una inscripción en una sola consulta.
+    // Sin fila => el alumno no existe; los conteos en cero => falta materia o docente.
+    @Query("""
+            select a.auth0Id as auth0Id,
+                   (select count(m) from MateriaEntity m where m.idMateria = :materiaId) as materias,
+                   (select count(d) from DocenteEntity d where d.idDocente = :docenteId) as docentes
+            from AlumnoEntity a
+            where a.idAlumno = :alumnoId""")
+    Optional<ReferenceCheck> checkReferences(
+            @Param("alumnoId") UUID alumnoId,
+            @Param("materiaId") UUID materiaId,
+            @Param("docenteId") UUID docenteId
+    );
+
+    interface ReferenceCheck {
+        String getAuth0Id();
+        long getMaterias();
+        long getDocentes();
+    }
+
+    @EntityGraph(attributePaths = "alumno")
+    Optional<AlumnoMateriaEntity> findWithAlumnoById(UUID id);
+
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.NotaInscripcion(
+                am.alumno.idAlumno, am.materia.idMateria, am.ciclo, am.notaFinal)
+            from AlumnoMateriaEntity am
+            where am.alumno.idAlumno = :alumnoId""")
+    List<NotaInscripcion> findNotasByAlumnoId(@Param("alumnoId") UUID alumnoId);
+
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.NotaInscripcion(
+                am.alumno.idAlumno, am.materia.idMateria, am.ciclo, am.notaFinal)
+            from AlumnoMateriaEntity am
+            where am.materia.idMateria = :materiaId""")
+    List<NotaInscripcion> findNotasByMateriaId(@Param("materiaId") UUID materiaId);
+
+    // Alumnos con la materia en su boleta, para descartarla del cache al renombrarla
+    @Query("select distinct am.alumno.auth0Id from AlumnoMateriaEntity am where am.materia.idMateria = :materiaId")
+    List<String> findAuth0IdsByMateriaId(@Param("materiaId") UUID materiaId);
 
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.carlospuente.fullstackauth.repository;
+
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaExportRow;
+
+import java.util.stream.Stream;
+
+/**
+ * Lectura de la exportación de inscripciones: proyección a DTO (nada entra al
+ * contexto de persistencia) leída fila por fila con el fetch size de
+ * {@code app.export.fetch-size}. El Stream debe consumirse dentro de la
+ * transacción y cerrarse.
+ */
+public interface AlumnoMateriaRepositoryCustom {
+
+    /** Todas las inscripciones o, si {@code ciclo} no es null, solo las de ese ciclo, en orden de ID. */
+    Stream<AlumnoMateriaExportRow> streamExport(String ciclo);
+}
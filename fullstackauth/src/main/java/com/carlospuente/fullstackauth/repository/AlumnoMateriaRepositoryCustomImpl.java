@@ -0,0 +1,47 @@
+package com.carlospuente.fullstackauth.repository;
+
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaExportRow;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.stream.Stream;
+
+class AlumnoMateriaRepositoryCustomImpl implements AlumnoMateriaRepositoryCustom {
+
+    private static final String EXPORT = """
+            select new com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaExportRow(
+                am.id, a.idAlumno, a.apellidos, a.nombres, m.idMateria, m.nombreMateria,
+                am.docente.idDocente, am.ciclo, am.notaFinal)
+            from AlumnoMateriaEntity am
+            join am.alumno a
+            join am.materia m
+            %s
+            order by am.id""";
+
+    private final EntityManager em;
+    private final int fetchSize;
+
+    // Con Integer.MIN_VALUE (el default) Connector/J entrega el resultado en
+    // streaming solo para esta sentencia, sin useCursorFetch en la conexión;
+    // mientras el Stream está abierto la conexión no admite otras consultas.
+    AlumnoMateriaRepositoryCustomImpl(
+            EntityManager em,
+            @Value("${app.export.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize
+    ) {
+        this.em = em;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Stream<AlumnoMateriaExportRow> streamExport(String ciclo) {
+        var query = em.createQuery(
+                        EXPORT.formatted(ciclo == null ? "" : "where am.ciclo = :ciclo"), AlumnoMateriaExportRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (ciclo != null) {
+            query.setParameter("ciclo", ciclo);
+        }
+        return query.getResultStream();
+    }
+}
@@ -1,18 +1,82 @@
 package com.carlospuente.fullstackauth.repository;
 
+import com.carlospuente.fullstackauth.domain.dto.AlumnoKey;
+import com.carlospuente.fullstackauth.domain.dto.DataVersion;
+import com.carlospuente.fullstackauth.domain.dto.RendimientoAlumno;
 import com.carlospuente.fullstackauth.domain.model.AlumnoEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface AlumnoRepository extends JpaRepository<AlumnoEntity, UUID> {
+public interface AlumnoRepository
+        extends JpaRepository<AlumnoEntity, UUID>, AlumnoRepositoryCustom, SparseFieldsRepository<AlumnoEntity> {
+
+    // Campos de la respuesta que acepta ?fields= (ver SparseFields)
+    SparseFields<AlumnoEntity> FIELDS = SparseFields.of(AlumnoEntity.class, "idAlumno",
+            "idAlumno", "nombres", "apellidos", "fechaIngreso", "direccion", "telefono");
+
     boolean existsByNombresAndApellidosAndFechaIngreso(
             String nombres,
             String apellidos,
             LocalDate fechaIngreso
     );
     Optional<AlumnoEntity> findByAuth0Id(String auth0Id);
+
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.RendimientoAlumno(
+                a.sumaNotas, a.materiasConNota, a.materiasAprobadas)
+            from AlumnoEntity a
+            where a.auth0Id = :auth0Id""")
+    Optional<RendimientoAlumno> findRendimientoByAuth0Id(@Param("auth0Id") String auth0Id);
     boolean existsByAuth0Id(String auth0Id);
 
-}
\ No newline at end of file
+    // Superconjunto de las llaves (nombres, apellidos, fecha) ya registradas para
+    // un lote de importación; el filtro exacto por combinación se hace en memoria.
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.AlumnoKey(
+                a.nombres, a.apellidos, a.fechaIngreso)
+            from AlumnoEntity a
+            where a.nombres in :nombres
+              and a.apellidos in :apellidos
+              and a.fechaIngreso in :fechas""")
+    List<AlumnoKey> findExistingKeys(
+            @Param("nombres") Collection<String> nombres,
+            @Param("apellidos") Collection<String> apellidos,
+            @Param("fechas") Collection<LocalDate> fechas
+    );
+
+    @Query("select a.auth0Id from AlumnoEntity a where a.auth0Id in :auth0Ids")
+    List<String> findExistingAuth0Ids(@Param("auth0Ids") Collection<String> auth0Ids);
+
+    // Solo ID y auth0Id, para resolver referencias de un lote en una consulta
+    List<Auth0IdView> findByIdAlumnoIn(Collection<UUID> ids);
+
+    interface Auth0IdView {
+        UUID getIdAlumno();
+        String getAuth0Id();
+    }
+
+    // Paginación keyset sobre la PK
+    List<AlumnoEntity> findAllByOrderByIdAlumnoAsc(Limit limit);
+    List<AlumnoEntity> findByIdAlumnoGreaterThanOrderByIdAlumnoAsc(UUID after, Limit limit);
+
+    // Versión para los ETag de los GET (ver DataVersion)
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.DataVersion(
+                count(a), max(coalesce(a.updatedAt, a.createdAt)))
+            from AlumnoEntity a""")
+    DataVersion findVersion();
+
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.DataVersion(
+                count(a), max(coalesce(a.updatedAt, a.createdAt)))
+            from AlumnoEntity a
+            where a.idAlumno = :id""")
+    DataVersion findVersionById(@Param("id") UUID id);
+}
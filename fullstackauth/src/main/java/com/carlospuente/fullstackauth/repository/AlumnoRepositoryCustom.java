@@ -0,0 +1,37 @@
+package com.carlospuente.fullstackauth.repository;
+
+import com.carlospuente.fullstackauth.domain.model.AlumnoEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Acumulado de notas de cada alumno (suma, materias con nota, aprobadas).
+ * Igual que las estadísticas por materia, se suma y resta en SQL dentro de
+ * la transacción de la inscripción.
+ * <p>
+ * También la inserción masiva de la importación CSV.
+ */
+public interface AlumnoRepositoryCustom {
+
+    /** Aplica los deltas (negativos para las bajas) en un solo lote JDBC. */
+    void acumularNotas(List<DeltaNotas> deltas);
+
+    /** Recalcula el acumulado de todos los alumnos desde alumno_materias. */
+    int reconstruirNotas();
+
+    /**
+     * Inserta los alumnos en lotes JDBC (hibernate.jdbc.batch_size) y vacía el
+     * contexto de persistencia, para que una importación grande no acumule
+     * entidades ni alargue el dirty checking de cada flush. Las entidades
+     * quedan desconectadas, con su ID ya asignado.
+     */
+    void insertarEnLote(List<AlumnoEntity> alumnos);
+
+    record DeltaNotas(
+            UUID alumnoId,
+            double sumaNotas,
+            long materiasConNota,
+            long materiasAprobadas
+    ) {}
+}
@@ -0,0 +1,64 @@
+package com.carlospuente.fullstackauth.repository;
+
+import com.carlospuente.fullstackauth.domain.model.AlumnoEntity;
+import com.carlospuente.fullstackauth.domain.model.EstadisticaMateriaCicloEntity;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+class AlumnoRepositoryCustomImpl implements AlumnoRepositoryCustom {
+
+    private static final String ACUMULAR = """
+            update alumnos set
+                suma_notas = suma_notas + ?,
+                materias_con_nota = materias_con_nota + ?,
+                materias_aprobadas = materias_aprobadas + ?
+            where id_alumno = ?""";
+
+    private static final String RECONSTRUIR = """
+            update alumnos a set
+                suma_notas = coalesce((select sum(am.nota_final) from alumno_materias am
+                                       where am.id_alumno = a.id_alumno), 0),
+                materias_con_nota = (select count(am.nota_final) from alumno_materias am
+                                     where am.id_alumno = a.id_alumno),
+                materias_aprobadas = (select count(*) from alumno_materias am
+                                      where am.id_alumno = a.id_alumno and am.nota_final >= %s)
+            """.formatted(EstadisticaMateriaCicloEntity.NOTA_APROBATORIA);
+
+    private final JdbcTemplate jdbc;
+    private final EntityManager em;
+
+    @Override
+    public void acumularNotas(List<DeltaNotas> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        em.flush();
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (DeltaNotas d : deltas) {
+            args.add(new Object[]{
+                    d.sumaNotas(), d.materiasConNota(), d.materiasAprobadas(), UuidBytes.of(d.alumnoId())});
+        }
+        jdbc.batchUpdate(ACUMULAR, args);
+    }
+
+    @Override
+    public int reconstruirNotas() {
+        em.flush();
+        return jdbc.update(RECONSTRUIR);
+    }
+
+    @Override
+    public void insertarEnLote(List<AlumnoEntity> alumnos) {
+        if (alumnos.isEmpty()) {
+            return;
+        }
+        alumnos.forEach(em::persist);
+        em.flush();
+        em.clear();
+    }
+}
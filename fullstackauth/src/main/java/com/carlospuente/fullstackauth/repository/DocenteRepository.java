@@ -1,15 +1,59 @@
 package com.carlospuente.fullstackauth.repository;
 
+import com.carlospuente.fullstackauth.domain.dto.DataVersion;
 import com.carlospuente.fullstackauth.domain.model.DocenteEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
-public interface DocenteRepository extends JpaRepository<DocenteEntity, UUID> {
+public interface DocenteRepository
+        extends JpaRepository<DocenteEntity, UUID>, SparseFieldsRepository<DocenteEntity> {
+
+    // Campos de la respuesta que acepta ?fields= (ver SparseFields)
+    SparseFields<DocenteEntity> FIELDS = SparseFields.of(DocenteEntity.class, "idDocente",
+            "idDocente", "nombres", "apellidos", "fechaIngreso");
+
     boolean existsByNombresAndApellidosAndFechaIngreso(
             String nombres,
             String apellidos,
             LocalDate fechaIngreso
     );
-}
\ No newline at end of file
+
+    // Catálogo: los resultados van a la cache de consultas y Hibernate los
+    // invalida en cuanto se escribe en la tabla
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select d.idDocente from DocenteEntity d where d.idDocente in :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // Paginación keyset sobre la PK
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<DocenteEntity> findAllByOrderByIdDocenteAsc(Limit limit);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<DocenteEntity> findByIdDocenteGreaterThanOrderByIdDocenteAsc(UUID after, Limit limit);
+
+    // Versión para los ETag de los GET (ver DataVersion)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.DataVersion(
+                count(d), max(coalesce(d.updatedAt, d.createdAt)))
+            from DocenteEntity d""")
+    DataVersion findVersion();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.DataVersion(
+                count(d), max(coalesce(d.updatedAt, d.createdAt)))
+            from DocenteEntity d
+            where d.idDocente = :id""")
+    DataVersion findVersionById(@Param("id") UUID id);
+}
@@ -0,0 +1,21 @@
+package com.carlospuente.fullstackauth.repository;
+
+import com.carlospuente.fullstackauth.domain.model.EstadisticaMateriaCicloEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface EstadisticaMateriaCicloRepository
+        extends JpaRepository<EstadisticaMateriaCicloEntity, EstadisticaMateriaCicloEntity.Clave>,
+        EstadisticaMateriaCicloRepositoryCustom {
+
+    // Los grupos que se quedaron sin inscripciones no se muestran
+    @Query("""
+            select e from EstadisticaMateriaCicloEntity e
+            where e.id.idMateria = :materiaId and e.inscritos > 0
+            order by e.id.ciclo""")
+    List<EstadisticaMateriaCicloEntity> findByMateria(@Param("materiaId") UUID materiaId);
+}
@@ -0,0 +1,66 @@
+package com.carlospuente.fullstackauth.repository;
+
+import com.carlospuente.fullstackauth.domain.model.EstadisticaMateriaCicloEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Escrituras de estadisticas_materia_ciclo. Cada una vacía antes el contexto
+ * de persistencia, así el SQL ve las inscripciones pendientes de la
+ * transacción en curso.
+ */
+public interface EstadisticaMateriaCicloRepositoryCustom {
+
+    /** Suma las notas de cada grupo; crea la fila si no existe. Una sola ida y vuelta por llamada. */
+    void sumar(List<Delta> deltas);
+
+    /**
+     * Resta las notas de cada grupo. Si sale la nota mínima o la máxima se
+     * recalcula desde alumno_materias (índice por materia y ciclo).
+     */
+    void restar(List<Delta> deltas);
+
+    void eliminarMateria(UUID materiaId);
+
+    /** Borra y recalcula toda la tabla desde alumno_materias; devuelve cuántos grupos quedaron. */
+    int reconstruir();
+
+    /** Lo que un conjunto de inscripciones de la misma materia y ciclo aporta al resumen. */
+    record Delta(
+            UUID materiaId,
+            String ciclo,
+            long inscritos,
+            long conNota,
+            double sumaNotas,
+            long aprobados,
+            Double notaMinima,
+            Double notaMaxima,
+            long[] histograma
+    ) {
+
+        public static Delta of(UUID materiaId, String ciclo, Collection<Double> notas) {
+            long conNota = 0;
+            double suma = 0;
+            long aprobados = 0;
+            Double min = null;
+            Double max = null;
+            long[] histograma = new long[EstadisticaMateriaCicloEntity.RANGOS];
+            for (Double nota : notas) {
+                if (nota == null) {
+                    continue;
+                }
+                conNota++;
+                suma += nota;
+                if (nota >= EstadisticaMateriaCicloEntity.NOTA_APROBATORIA) {
+                    aprobados++;
+                }
+                min = min == null ? nota : Math.min(min, nota);
+                max = max == null ? nota : Math.max(max, nota);
+                histograma[EstadisticaMateriaCicloEntity.rango(nota)]++;
+            }
+            return new Delta(materiaId, ciclo, notas.size(), conNota, suma, aprobados, min, max, histograma);
+        }
+    }
+}
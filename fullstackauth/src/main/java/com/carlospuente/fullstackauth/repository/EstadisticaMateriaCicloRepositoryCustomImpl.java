@@ -0,0 +1,160 @@
+package com.carlospuente.fullstackauth.repository;
+
+import com.carlospuente.fullstackauth.domain.model.EstadisticaMateriaCicloEntity;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SQL de estadisticas_materia_ciclo. Va por JdbcTemplate (en la misma
+ * conexión y transacción que JPA) para mandar los cambios de varios grupos
+ * en un solo lote JDBC; con rewriteBatchedStatements MySQL los recibe como
+ * un único INSERT ... ON DUPLICATE KEY UPDATE.
+ * <p>
+ * La regla de rangos y de aprobación está aquí en SQL y en
+ * {@link EstadisticaMateriaCicloEntity} en Java; deben cambiar juntas.
+ */
+@RequiredArgsConstructor
+class EstadisticaMateriaCicloRepositoryCustomImpl implements EstadisticaMateriaCicloRepositoryCustom {
+
+    private static final String TABLA = "estadisticas_materia_ciclo";
+    private static final String HISTOGRAMA = columnas("hist_%d", ", ");
+
+    private static final String SUMAR = """
+            insert into %s (id_materia, ciclo, inscritos, con_nota, suma_notas, aprobados,
+                            nota_minima, nota_maxima, %s)
+            values (?, ?, ?, ?, ?, ?, ?, ?, %s)
+            on duplicate key update
+                inscritos = inscritos + values(inscritos),
+                con_nota = con_nota + values(con_nota),
+                suma_notas = suma_notas + values(suma_notas),
+                aprobados = aprobados + values(aprobados),
+                nota_minima = coalesce(least(nota_minima, values(nota_minima)), nota_minima, values(nota_minima)),
+                nota_maxima = coalesce(greatest(nota_maxima, values(nota_maxima)), nota_maxima, values(nota_maxima)),
+                %s""".formatted(TABLA, HISTOGRAMA, columnas("?", ", "),
+            columnas("hist_%1$d = hist_%1$d + values(hist_%1$d)", ",\n    "));
+
+    // Si la nota que sale no era la mínima (o máxima) se conserva; si lo era,
+    // se busca la nueva entre las inscripciones que quedan
+    private static final String RESTAR = """
+            update %s set
+                inscritos = inscritos - ?,
+                con_nota = con_nota - ?,
+                suma_notas = suma_notas - ?,
+                aprobados = aprobados - ?,
+                nota_minima = case when nota_minima < ? then nota_minima else
+                    (select min(am.nota_final) from alumno_materias am
+                     where am.id_materia = ? and am.ciclo = ?) end,
+                nota_maxima = case when nota_maxima > ? then nota_maxima else
+                    (select max(am.nota_final) from alumno_materias am
+                     where am.id_materia = ? and am.ciclo = ?) end,
+                %s
+            where id_materia = ? and ciclo = ?""".formatted(TABLA,
+            columnas("hist_%1$d = hist_%1$d - ?", ",\n    "));
+
+    private static final String RECONSTRUIR = """
+            insert into %s (id_materia, ciclo, inscritos, con_nota, suma_notas, aprobados,
+                            nota_minima, nota_maxima, %s)
+            select id_materia, ciclo, count(*), count(nota_final), coalesce(sum(nota_final), 0),
+                   sum(case when nota_final >= %s then 1 else 0 end),
+                   min(nota_final), max(nota_final),
+                   %s
+            from alumno_materias
+            group by id_materia, ciclo""".formatted(TABLA, HISTOGRAMA,
+            EstadisticaMateriaCicloEntity.NOTA_APROBATORIA, rangosSql());
+
+    private final JdbcTemplate jdbc;
+    private final EntityManager em;
+
+    @Override
+    public void sumar(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        em.flush();
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (Delta d : deltas) {
+            List<Object> fila = new ArrayList<>(8 + EstadisticaMateriaCicloEntity.RANGOS);
+            fila.add(UuidBytes.of(d.materiaId()));
+            fila.add(d.ciclo());
+            fila.add(d.inscritos());
+            fila.add(d.conNota());
+            fila.add(d.sumaNotas());
+            fila.add(d.aprobados());
+            fila.add(d.notaMinima());
+            fila.add(d.notaMaxima());
+            for (long n : d.histograma()) {
+                fila.add(n);
+            }
+            args.add(fila.toArray());
+        }
+        jdbc.batchUpdate(SUMAR, args);
+    }
+
+    @Override
+    public void restar(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        em.flush();
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (Delta d : deltas) {
+            byte[] materia = UuidBytes.of(d.materiaId());
+            List<Object> fila = new ArrayList<>(12 + EstadisticaMateriaCicloEntity.RANGOS);
+            fila.add(d.inscritos());
+            fila.add(d.conNota());
+            fila.add(d.sumaNotas());
+            fila.add(d.aprobados());
+            // Sin notas en el delta, el mínimo y el máximo no cambian
+            fila.add(d.notaMinima() != null ? d.notaMinima() : Double.MAX_VALUE);
+            fila.add(materia);
+            fila.add(d.ciclo());
+            fila.add(d.notaMaxima() != null ? d.notaMaxima() : -Double.MAX_VALUE);
+            fila.add(materia);
+            fila.add(d.ciclo());
+            for (long n : d.histograma()) {
+                fila.add(n);
+            }
+            fila.add(materia);
+            fila.add(d.ciclo());
+            args.add(fila.toArray());
+        }
+        jdbc.batchUpdate(RESTAR, args);
+    }
+
+    @Override
+    public void eliminarMateria(UUID materiaId) {
+        em.flush();
+        jdbc.update("delete from " + TABLA + " where id_materia = ?", (Object) UuidBytes.of(materiaId));
+    }
+
+    @Override
+    public int reconstruir() {
+        em.flush();
+        jdbc.update("delete from " + TABLA);
+        return jdbc.update(RECONSTRUIR);
+    }
+
+    private static String rangosSql() {
+        List<String> rangos = new ArrayList<>();
+        for (int k = 0; k < EstadisticaMateriaCicloEntity.RANGOS; k++) {
+            String cond = k == EstadisticaMateriaCicloEntity.RANGOS - 1
+                    ? "nota_final >= " + k * 10
+                    : "nota_final >= " + k * 10 + " and nota_final < " + (k + 1) * 10;
+            rangos.add("sum(case when " + cond + " then 1 else 0 end)");
+        }
+        return String.join(",\n       ", rangos);
+    }
+
+    private static String columnas(String formato, String separador) {
+        List<String> columnas = new ArrayList<>();
+        for (int k = 0; k < EstadisticaMateriaCicloEntity.RANGOS; k++) {
+            columnas.add(formato.formatted(k));
+        }
+        return String.join(separador, columnas);
+    }
+}
@@ -1,9 +1,53 @@
 package com.carlospuente.fullstackauth.repository;
 
+import com.carlospuente.fullstackauth.domain.dto.DataVersion;
 import com.carlospuente.fullstackauth.domain.model.MateriaEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
-public interface MateriaRepository extends JpaRepository<MateriaEntity, UUID> {
+public interface MateriaRepository
+        extends JpaRepository<MateriaEntity, UUID>, SparseFieldsRepository<MateriaEntity> {
+
+    // Campos de la respuesta que acepta ?fields= (ver SparseFields)
+    SparseFields<MateriaEntity> FIELDS = SparseFields.of(MateriaEntity.class, "idMateria",
+            "idMateria", "nombreMateria");
+
     boolean existsByNombreMateriaIgnoreCase(String nombreMateria);
-}
\ No newline at end of file
+
+    // Catálogo: los resultados van a la cache de consultas y Hibernate los
+    // invalida en cuanto se escribe en la tabla
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select m.idMateria from MateriaEntity m where m.idMateria in :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // Paginación keyset sobre la PK
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<MateriaEntity> findAllByOrderByIdMateriaAsc(Limit limit);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<MateriaEntity> findByIdMateriaGreaterThanOrderByIdMateriaAsc(UUID after, Limit limit);
+
+    // Versión para los ETag de los GET (ver DataVersion)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.DataVersion(
+                count(m), max(coalesce(m.updatedAt, m.createdAt)))
+            from MateriaEntity m""")
+    DataVersion findVersion();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            select new com.carlospuente.fullstackauth.domain.dto.DataVersion(
+                count(m), max(coalesce(m.updatedAt, m.createdAt)))
+            from MateriaEntity m
+            where m.idMateria = :id""")
+    DataVersion findVersionById(@Param("id") UUID id);
+}
@@ -0,0 +1,30 @@
+package com.carlospuente.fullstackauth.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Campos que un listado o consulta por ID puede devolver con {@code ?fields=}:
+ * nombre en la respuesta -> ruta del atributo JPA. El campo {@code id} se
+ * devuelve siempre, ya que también es el cursor de la paginación.
+ */
+public record SparseFields<E>(
+        Class<E> entity,
+        String id,
+        Map<String, String> paths
+) {
+
+    /** Cada campo es {@code "nombre"} o {@code "nombre=ruta.jpa"} si difieren. */
+    public static <E> SparseFields<E> of(Class<E> entity, String id, String... fields) {
+        Map<String, String> paths = new LinkedHashMap<>();
+        for (String f : fields) {
+            int eq = f.indexOf('=');
+            paths.put(eq < 0 ? f : f.substring(0, eq), eq < 0 ? f : f.substring(eq + 1));
+        }
+        if (!paths.containsKey(id)) {
+            throw new IllegalArgumentException("El campo ID '" + id + "' no está entre los campos");
+        }
+        return new SparseFields<>(entity, id, Collections.unmodifiableMap(paths));
+    }
+}
@@ -0,0 +1,20 @@
+package com.carlospuente.fullstackauth.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Proyecciones por tupla para {@code ?fields=}: el SELECT lleva solo las
+ * columnas pedidas y cada fila sale como mapa campo -> valor, en el orden de
+ * {@code selected}. Lo comparten los repositorios que declaran sus
+ * {@link SparseFields}.
+ */
+public interface SparseFieldsRepository<E> {
+
+    /** Página keyset ({@code id > after}, orden por ID) con los campos elegidos. */
+    List<Map<String, Object>> findFields(SparseFields<E> fields, List<String> selected, UUID after, int limit);
+
+    Optional<Map<String, Object>> findFieldsById(SparseFields<E> fields, List<String> selected, UUID id);
+}
@@ -0,0 +1,80 @@
+package com.carlospuente.fullstackauth.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Criteria con {@code multiselect}: las rutas a la PK de una relación
+ * (p. ej. {@code alumno.idAlumno}) se leen de la FK, sin join.
+ */
+@RequiredArgsConstructor
+class SparseFieldsRepositoryImpl<E> implements SparseFieldsRepository<E> {
+
+    private final EntityManager em;
+
+    @Override
+    public List<Map<String, Object>> findFields(SparseFields<E> fields, List<String> selected, UUID after, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> q = cb.createTupleQuery();
+        Root<E> root = q.from(fields.entity());
+        Path<UUID> id = path(root, fields.paths().get(fields.id()));
+        q.multiselect(selections(root, fields, selected));
+        if (after != null) {
+            q.where(cb.greaterThan(id, after));
+        }
+        q.orderBy(cb.asc(id));
+        return em.createQuery(q).setMaxResults(limit).getResultList().stream()
+                .map(t -> row(t, selected))
+                .toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(SparseFields<E> fields, List<String> selected, UUID id) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> q = cb.createTupleQuery();
+        Root<E> root = q.from(fields.entity());
+        q.multiselect(selections(root, fields, selected));
+        q.where(cb.equal(path(root, fields.paths().get(fields.id())), id));
+        return em.createQuery(q).getResultList().stream()
+                .findFirst()
+                .map(t -> row(t, selected));
+    }
+
+    private static List<Selection<?>> selections(Root<?> root, SparseFields<?> fields, List<String> selected) {
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (String field : selected) {
+            selections.add(path(root, fields.paths().get(field)).alias(field));
+        }
+        return selections;
+    }
+
+    private static Map<String, Object> row(Tuple t, List<String> selected) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : selected) {
+            row.put(field, t.get(field));
+        }
+        return row;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Path<T> path(Root<?> root, String dotted) {
+        Path<?> p = root;
+        for (String part : dotted.split("\\.")) {
+            p = p.get(part);
+        }
+        return (Path<T>) p;
+    }
+}
@@ -0,0 +1,18 @@
+package com.carlospuente.fullstackauth.repository;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/** UUID como BINARY(16) para SQL escrito a mano, con el mismo orden de bytes que usa Hibernate. */
+final class UuidBytes {
+
+    private UuidBytes() {
+    }
+
+    static byte[] of(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,91 @@
+package com.carlospuente.fullstackauth.security;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Access log estructurado: método, plantilla de ruta, status, latencia y
+ * principal. Nunca registra headers ni el token.
+ * <p>
+ * Va antes de la cadena de Spring Security para medir también los 401/403.
+ * Las respuestas exitosas se muestrean con {@code app.access-log.sample-rate};
+ * las de error (4xx/5xx) siempre se registran. La escritura la hace el
+ * appender asíncrono del logger {@code access} (ver logback-spring.xml).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger("access");
+
+    private final double sampleRate;
+
+    public AccessLogFilter(@Value("${app.access-log.sample-rate:1.0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req,
+                                    HttpServletResponse res,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(req, res);
+            failed = false;
+        } finally {
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : res.getStatus();
+            if (log.isInfoEnabled() && sampled(status)) {
+                log.info("method={} route={} status={} latency_ms={} principal={}",
+                        req.getMethod(),
+                        route(req),
+                        status,
+                        (System.nanoTime() - start) / 1_000_000,
+                        principal(req));
+            }
+        }
+    }
+
+    private boolean sampled(int status) {
+        return status >= 400
+                || sampleRate >= 1.0
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    // Plantilla de la ruta (/api/alumnos/{id}) para no registrar IDs ni query strings
+    private static String route(HttpServletRequest req) {
+        Object pattern = req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "-";
+    }
+
+    // El filtro de bearer token guarda el contexto como atributo del request;
+    // el SecurityContextHolder ya se limpió cuando la cadena de seguridad regresa
+    private static String principal(HttpServletRequest req) {
+        Object ctx = req.getAttribute(RequestAttributeSecurityContextRepository.DEFAULT_REQUEST_ATTR_NAME);
+        if (ctx instanceof SecurityContext sc) {
+            Authentication auth = sc.getAuthentication();
+            if (auth != null && auth.isAuthenticated()) {
+                return auth.getName();
+            }
+        }
+        return "-";
+    }
+}
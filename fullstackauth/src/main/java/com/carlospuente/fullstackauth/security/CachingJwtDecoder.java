@@ -0,0 +1,87 @@
+package com.carlospuente.fullstackauth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Decorador de {@link JwtDecoder} que guarda los {@link Jwt} ya verificados.
+ * <p>
+ * La llave es el SHA-256 del token (nunca el token en claro) y cada entrada
+ * caduca en el {@code exp} del propio token, con {@code maxTtl} como tope.
+ * Los tokens inválidos no se guardan: la excepción del decoder original se
+ * propaga tal cual.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, Cache<String, Jwt> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return cache.get(hash(token), k -> delegate.decode(token));
+    }
+
+    /** Cache acotada cuyas entradas viven hasta el {@code exp} del token. */
+    public static Cache<String, Jwt> newCache(long maxSize, Duration maxTtl, Clock clock) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilExpiration(maxTtl, clock))
+                .recordStats()
+                .build();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM debe incluir SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record UntilExpiration(Duration maxTtl, Clock clock) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Instant exp = jwt.getExpiresAt();
+            if (exp == null) {
+                // Sin exp no hay un límite confiable: no se guarda
+                return 0;
+            }
+            Duration left = Duration.between(clock.instant(), exp);
+            if (left.isNegative()) {
+                return 0;
+            }
+            return (left.compareTo(maxTtl) < 0 ? left : maxTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
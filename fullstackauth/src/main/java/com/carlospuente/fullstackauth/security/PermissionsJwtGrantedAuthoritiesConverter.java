@@ -5,13 +5,53 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PermissionsJwtGrantedAuthoritiesConverter
         implements Converter<Jwt, Collection<GrantedAuthority>> {
 
+    /** Tope de combinaciones distintas de scope/permissions que se guardan. */
+    static final int MAX_ENTRIES = 256;
+
+    // Sustitutos de null, ya que ConcurrentHashMap no admite llaves nulas
+    private static final Object NO_SCOPE = new Object();
+    private static final Object NO_PERMISSIONS = new Object();
+
+    // scope crudo -> permissions crudo -> authorities ya convertidas.
+    // Dos niveles para que la búsqueda no tenga que armar una llave compuesta.
+    private final Map<Object, Map<Object, List<GrantedAuthority>>> interned = new ConcurrentHashMap<>();
+
     @Override
     public Collection<GrantedAuthority> convert(Jwt jwt) {
+        Map<String, Object> claims = jwt.getClaims();
+        Object scopeKey = claims.getOrDefault("scope", NO_SCOPE);
+        Object permsKey = claims.getOrDefault("permissions", NO_PERMISSIONS);
+
+        Map<Object, List<GrantedAuthority>> byPerms = interned.get(scopeKey);
+        if (byPerms != null) {
+            List<GrantedAuthority> cached = byPerms.get(permsKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<GrantedAuthority> authorities = List.copyOf(extract(jwt));
+        if (size() < MAX_ENTRIES) {
+            interned.computeIfAbsent(scopeKey, k -> new ConcurrentHashMap<>())
+                    .putIfAbsent(permsKey, authorities);
+        }
+        return authorities;
+    }
+
+    private int size() {
+        int n = 0;
+        for (Map<Object, List<GrantedAuthority>> m : interned.values()) {
+            n += m.size();
+        }
+        return n;
+    }
+
+    private static List<GrantedAuthority> extract(Jwt jwt) {
         List<String> authorities = new ArrayList<>();
 
         // 1) extraigo los scopes estándar
@@ -27,9 +67,10 @@ public class PermissionsJwtGrantedAuthoritiesConverter
         }
 
         // 3) convierto todo a GrantedAuthority en mayúsculas
-        return authorities.stream()
-                .map(String::toUpperCase)
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+        List<GrantedAuthority> result = new ArrayList<>(authorities.size());
+        for (String a : authorities) {
+            result.add(new SimpleGrantedAuthority(a.toUpperCase()));
+        }
+        return result;
     }
 }
@@ -0,0 +1,158 @@
+package com.carlospuente.fullstackauth.security;
+
+import com.carlospuente.fullstackauth.domain.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Límite de peticiones sobre {@code /api/**} en dos niveles: un bucket por
+ * principal y ruta, y otro por principal que acota la suma de todas sus
+ * rutas. El principal es el {@code sub} del JWT. Va justo después de la
+ * autenticación por bearer token (ver SecurityConfig), así un cliente que
+ * insiste recibe 429 antes de tomar una conexión del pool. Las peticiones sin
+ * autenticar no se limitan aquí; terminan en 401.
+ * <p>
+ * La ruta es el patrón del controlador que atenderá la petición
+ * ({@code /api/alumnos/{id}}), no la URI: variar un segmento no da un bucket
+ * nuevo, y lo que no corresponde a ningún controlador comparte uno solo.
+ * <p>
+ * Métricas: {@code rate.limit.rejected} (por nivel y recurso) y
+ * {@code rate.limit.buckets} (llaves en memoria).
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Llave de ruta para lo que ningún controlador atiende (404/405)
+    static final String UNMATCHED = "/api/**";
+
+    private final RateLimiter perRoute;
+    private final RateLimiter perPrincipal;
+    private final Function<HttpServletRequest, String> routes;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+
+    public RateLimitFilter(RateLimiter perRoute,
+                           RateLimiter perPrincipal,
+                           Function<HttpServletRequest, String> routes,
+                           ObjectMapper objectMapper,
+                           MeterRegistry registry) {
+        this.perRoute = perRoute;
+        this.perPrincipal = perPrincipal;
+        this.routes = routes;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        Gauge.builder("rate.limit.buckets", this, f -> f.perRoute.trackedKeys() + f.perPrincipal.trackedKeys())
+                .description("Llaves principal y principal+ruta con bucket en memoria")
+                .register(registry);
+    }
+
+    /**
+     * Patrón del handler de {@code mapping} para la petición (el mismo que
+     * elegirá el DispatcherServlet), o {@link #UNMATCHED} si no hay ninguno.
+     */
+    public static Function<HttpServletRequest, String> routesOf(HandlerMapping mapping) {
+        return req -> {
+            boolean parsed = ServletRequestPathUtils.hasParsedRequestPath(req);
+            if (!parsed) {
+                ServletRequestPathUtils.parseAndCache(req);
+            }
+            try {
+                return mapping.getHandler(req) != null
+                        && req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                        ? pattern : UNMATCHED;
+            } catch (Exception ex) {
+                // Método no soportado, media type no aceptable...: no llega a un controlador
+                return UNMATCHED;
+            } finally {
+                if (!parsed) {
+                    ServletRequestPathUtils.clearParsedRequestPath(req);
+                }
+            }
+        };
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest req) {
+        return !path(req).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req,
+                                    HttpServletResponse res,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            chain.doFilter(req, res);
+            return;
+        }
+        String principal = principal(auth);
+        if (principal == null) {
+            chain.doFilter(req, res);
+            return;
+        }
+        String route = routes.apply(req);
+        String scope = "principal";
+        long waitNanos = perPrincipal.tryAcquire(principal);
+        if (waitNanos == 0) {
+            scope = "route";
+            waitNanos = perRoute.tryAcquire(principal + ' ' + req.getMethod() + ' ' + route);
+            if (waitNanos > 0) {
+                // La petición no entra: no debe gastar el presupuesto del principal
+                perPrincipal.release(principal);
+            }
+        }
+        if (waitNanos == 0) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        registry.counter("rate.limit.rejected", "scope", scope, "resource", resource(route)).increment();
+        res.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        res.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(res.getOutputStream(), new ErrorResponse(
+                Instant.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Demasiadas peticiones; reintente en " + retryAfter + " s",
+                req.getRequestURI()
+        ));
+    }
+
+    // El sub del JWT: el nombre del token es el claim email, que los access
+    // tokens de Auth0 no siempre traen
+    private static String principal(Authentication auth) {
+        return auth instanceof JwtAuthenticationToken jwt ? jwt.getToken().getSubject() : auth.getName();
+    }
+
+    private static String path(HttpServletRequest req) {
+        return req.getRequestURI().substring(req.getContextPath().length());
+    }
+
+    // /api/alumno-materias/me/boleta -> /api/alumno-materias, para acotar las etiquetas
+    private static String resource(String route) {
+        int second = route.indexOf('/', "/api/".length());
+        return second < 0 ? route : route.substring(0, second);
+    }
+}
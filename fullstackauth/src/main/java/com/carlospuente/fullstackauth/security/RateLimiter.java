@@ -0,0 +1,79 @@
+package com.carlospuente.fullstackauth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por llave en su forma GCRA (virtual scheduling): cada llave
+ * guarda solo el instante teórico de la siguiente llegada (TAT) en un
+ * AtomicLong, que se avanza con CAS. No hay locks ni un hilo que rellene
+ * fichas; el relleno sale de comparar el TAT con el reloj.
+ * <p>
+ * Con {@code permitsPerSecond} r y ráfaga b cada petición adelanta el TAT en
+ * 1/r, y se admite mientras el TAT no quede más de (b - 1)/r por delante del
+ * reloj: b peticiones seguidas y después una cada 1/r.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoTime;
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(double permitsPerSecond, int burst, long maxKeys) {
+        this(permitsPerSecond, burst, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, long maxKeys, LongSupplier nanoTime) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("El límite requiere permitsPerSecond > 0 y burst >= 1");
+        }
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.nanoTime = nanoTime;
+        // Un bucket sin uso durante una ráfaga completa ya está lleno otra vez:
+        // descartarlo no cambia ninguna decisión y mantiene el mapa acotado
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(toleranceNanos + intervalNanos))
+                .ticker(nanoTime::getAsLong)
+                .build();
+    }
+
+    /** 0 si la petición entra; si no, nanosegundos hasta que entraría. */
+    public long tryAcquire(String key) {
+        long now = nanoTime.getAsLong();
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now);
+            long wait = next - toleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, next + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Devuelve la ficha que tomó un {@link #tryAcquire} exitoso de {@code key},
+     * p. ej. cuando otro límite rechaza la misma petición.
+     */
+    public void release(String key) {
+        AtomicLong tat = buckets.getIfPresent(key);
+        if (tat != null) {
+            tat.addAndGet(-intervalNanos);
+        }
+    }
+
+    /** Llaves con bucket en memoria (aproximado). */
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
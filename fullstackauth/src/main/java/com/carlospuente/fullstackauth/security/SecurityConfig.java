@@ -1,5 +1,10 @@
 package com.carlospuente.fullstackauth.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -7,8 +12,14 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.security.oauth2.jwt.SupplierJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.web.servlet.HandlerMapping;
 
 @Configuration
 @EnableMethodSecurity(prePostEnabled = true)
@@ -24,11 +35,44 @@ public class SecurityConfig {
         return converter;
     }
 
+    /**
+     * Decoder del resource server con cache de JWT verificados: el mismo token
+     * del SPA solo se valida (firma, issuer, exp) la primera vez.
+     * El decoder de Nimbus se crea al primer uso, igual que el de Spring Boot.
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            Cache<String, Jwt> jwtCache
+    ) {
+        JwtDecoder nimbus = new SupplierJwtDecoder(() -> JwtDecoders.fromIssuerLocation(issuerUri));
+        return new CachingJwtDecoder(nimbus, jwtCache);
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(
             HttpSecurity http,
-            JwtAuthenticationConverter jwtConverter
+            JwtAuthenticationConverter jwtConverter,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Qualifier("requestMappingHandlerMapping") HandlerMapping handlerMapping,
+            @Value("${app.rate-limit.requests-per-second:20}") double requestsPerSecond,
+            @Value("${app.rate-limit.burst:40}") int burst,
+            @Value("${app.rate-limit.principal.requests-per-second:50}") double principalRequestsPerSecond,
+            @Value("${app.rate-limit.principal.burst:100}") int principalBurst,
+            @Value("${app.rate-limit.max-keys:100000}") long maxKeys
     ) throws Exception {
+        // Límite por principal y ruta, y por principal en total, ya con el JWT
+        // validado (requests-per-second 0 lo desactiva).
+        // No es un bean: como Filter, Spring Boot lo registraría también fuera de la cadena
+        if (requestsPerSecond > 0) {
+            var perRoute = new RateLimiter(requestsPerSecond, burst, maxKeys);
+            var perPrincipal = new RateLimiter(principalRequestsPerSecond, principalBurst, maxKeys);
+            http.addFilterAfter(new RateLimitFilter(perRoute, perPrincipal, RateLimitFilter.routesOf(handlerMapping),
+                            objectMapper, meterRegistry),
+                    BearerTokenAuthenticationFilter.class);
+        }
+
         http
                 // 1) Habilitar CORS usando la configuración definida en CorsConfig
                 .cors(Customizer.withDefaults())
@@ -48,6 +92,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // health endpoint
                         .requestMatchers(HttpMethod.GET, "/api/health").permitAll()
+                        // actuator: health y scrape de Prometheus; solo se sirven en el
+                        // puerto de administración (management.server.*), ligado a la red interna
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
                         // public docs
                         .requestMatchers("/public/**", "/v3/api-docs/**", "/swagger-ui/**").permitAll()
 
@@ -55,6 +102,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET,    "/api/alumnos/me").             hasAuthority("READ:ALUMNOS")
                         .requestMatchers(HttpMethod.GET,    "/api/alumnos/**").            hasAuthority("READ:ALUMNOS")
                         .requestMatchers(HttpMethod.POST,   "/api/alumnos").               hasAuthority("WRITE:ALUMNOS")
+                        .requestMatchers(HttpMethod.POST,   "/api/alumnos/import").        hasAuthority("WRITE:ALUMNOS")
                         .requestMatchers(HttpMethod.PUT,    "/api/alumnos/**").            hasAuthority("WRITE:ALUMNOS")
                         .requestMatchers(HttpMethod.DELETE, "/api/alumnos/**").            hasAuthority("DELETE:ALUMNOS")
 
@@ -70,9 +118,15 @@ public class SecurityConfig {
 
                         .requestMatchers(HttpMethod.GET,    "/api/alumno-materias/**").    hasAuthority("READ:ALUMNO_MATERIAS")
                         .requestMatchers(HttpMethod.POST,   "/api/alumno-materias").       hasAuthority("WRITE:ALUMNO_MATERIAS")
+                        .requestMatchers(HttpMethod.POST,   "/api/alumno-materias/batch"). hasAuthority("WRITE:ALUMNO_MATERIAS")
                         .requestMatchers(HttpMethod.PUT,    "/api/alumno-materias/**").    hasAuthority("WRITE:ALUMNO_MATERIAS")
                         .requestMatchers(HttpMethod.DELETE, "/api/alumno-materias/**").    hasAuthority("DELETE:ALUMNO_MATERIAS")
 
+                        .requestMatchers(HttpMethod.GET,    "/api/estadisticas/**").       hasAuthority("READ:ALUMNO_MATERIAS")
+                        .requestMatchers(HttpMethod.POST,   "/api/estadisticas/rebuild").  hasAuthority("WRITE:ALUMNO_MATERIAS")
+
+                        .requestMatchers(HttpMethod.GET,    "/api/cache/stats").           hasAuthority("READ:CACHE_STATS")
+
                         // any other
                         .anyRequest().authenticated()
                 );
@@ -2,13 +2,19 @@ package com.carlospuente.fullstackauth.service;
 
 import com.carlospuente.fullstackauth.domain.dto.*;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.Map;
 import java.util.UUID;
 
 public interface AlumnoMateriaService {
-    List<AlumnoMateriaResponse> listAll();
+    CursorPage<AlumnoMateriaResponse> listAll(String cursor, Integer size);
     AlumnoMateriaResponse getById(UUID id);
+    CursorPage<Map<String, Object>> listAll(String cursor, Integer size, String fields);
+    Map<String, Object> getById(UUID id, String fields);
     AlumnoMateriaResponse create(AlumnoMateriaRequest request);
+    AlumnoMateriaBatchResponse createBatch(List<AlumnoMateriaRequest> requests);
     AlumnoMateriaResponse update(UUID id, AlumnoMateriaRequest request);
     void delete(UUID id);
-    List<AlumnoMateriaBoletaResponse> listByAlumnoAuth0Id(String auth0Id);
+    BoletaResponse listByAlumnoAuth0Id(String auth0Id);
+    void export(String ciclo, Consumer<AlumnoMateriaExportRow> sink);
 }
\ No newline at end of file
@@ -1,71 +1,144 @@
 package com.carlospuente.fullstackauth.service;
 
-import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaBoletaResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaBatchItemResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaBatchResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaExportRow;
+import com.carlospuente.fullstackauth.domain.dto.BoletaResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaKey;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaRequest;
+import com.carlospuente.fullstackauth.domain.dto.CursorPage;
+import com.carlospuente.fullstackauth.domain.dto.NotaInscripcion;
+import com.carlospuente.fullstackauth.domain.dto.RendimientoAlumno;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaResponse;
 import com.carlospuente.fullstackauth.domain.mapper.AlumnoMateriaMapper;
-import com.carlospuente.fullstackauth.domain.model.AlumnoMateriaEntity;
 import com.carlospuente.fullstackauth.repository.AlumnoMateriaRepository;
 import com.carlospuente.fullstackauth.repository.AlumnoRepository;
 import com.carlospuente.fullstackauth.repository.DocenteRepository;
 import com.carlospuente.fullstackauth.repository.MateriaRepository;
 import com.carlospuente.fullstackauth.exception.BadRequestException;
 import com.carlospuente.fullstackauth.exception.ResourceNotFoundException;
+import com.carlospuente.fullstackauth.config.CacheConfig;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import com.carlospuente.fullstackauth.domain.model.AlumnoEntity;
-import com.carlospuente.fullstackauth.domain.model.DocenteEntity;
-import com.carlospuente.fullstackauth.domain.model.MateriaEntity;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import com.carlospuente.fullstackauth.domain.model.AlumnoMateriaEntity;
 import com.carlospuente.fullstackauth.exception.ConflictException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.util.regex.Pattern;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 @Transactional
 public class AlumnoMateriaServiceImpl implements AlumnoMateriaService {
 
     private static final Logger log = LoggerFactory.getLogger(AlumnoMateriaServiceImpl.class);
-    private static final Pattern CICLO_PATTERN = Pattern.compile("^\\d{4}-[12]$");
+
+    private static final RequestValidator<AlumnoMateriaRequest> RULES = RequestValidator.<AlumnoMateriaRequest>builder()
+            .required(AlumnoMateriaRequest::alumnoId, "El alumnoId es obligatorio")
+            .required(AlumnoMateriaRequest::materiaId, "El materiaId es obligatorio")
+            .required(AlumnoMateriaRequest::docenteId, "El docenteId es obligatorio")
+            .notBlank(AlumnoMateriaRequest::ciclo, "El ciclo es obligatorio")
+            .format(AlumnoMateriaRequest::ciclo, AlumnoMateriaServiceImpl::isCiclo,
+                    "El ciclo debe tener formato YYYY-1 o YYYY-2")
+            .required(AlumnoMateriaRequest::notaFinal, "La nota final es obligatoria")
+            .range(AlumnoMateriaRequest::notaFinal, 0, 100, "La nota final debe estar entre 0 y 100")
+            .build();
 
     private final AlumnoMateriaRepository repo;
     private final AlumnoRepository alumnoRepo;
     private final MateriaRepository materiaRepo;
     private final DocenteRepository docenteRepo;
     private final AlumnoMateriaMapper mapper;
+    private final CacheManager cacheManager;
+    private final EstadisticaService estadisticas;
 
     @Override
     @Transactional(readOnly = true)
-    public List<AlumnoMateriaResponse> listAll() {
-        log.debug("Listando todas las inscripciones");
-        return repo.findAll().stream()
-                .map(mapper::toResponse)
-                .toList();
+    public CursorPage<AlumnoMateriaResponse> listAll(String cursor, Integer size) {
+        log.debug("Listando página de inscripciones (cursor={}, size={})", cursor, size);
+        int limit = CursorPagination.pageSize(size);
+        UUID after = CursorPagination.decode(cursor);
+        var rows = after == null
+                ? repo.findResponsePage(Limit.of(limit + 1))
+                : repo.findResponsePageAfter(after, Limit.of(limit + 1));
+        return CursorPagination.page(rows, limit, AlumnoMateriaResponse::id, r -> r);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<AlumnoMateriaBoletaResponse> listByAlumnoAuth0Id(String auth0Id) {
-        // Asumiendo que tu repo puede buscar por auth0Id en AlumnoEntity
-        // y luego traes sus relaciones a AlumnoMateriaEntity
-        List<AlumnoMateriaEntity> relaciones = repo.findByAlumno_Auth0Id(auth0Id);
-        return relaciones.stream().map(rel -> {
-            String nombreMat = rel.getMateria().getNombreMateria();
-            return new AlumnoMateriaBoletaResponse(rel.getId(), nombreMat, rel.getNotaFinal());
-        }).toList();
+    @Cacheable(cacheNames = CacheConfig.BOLETA, key = "#auth0Id")
+    public BoletaResponse listByAlumnoAuth0Id(String auth0Id) {
+        log.debug("Obteniendo boleta para Auth0 ID {}", auth0Id);
+        // El promedio viene del acumulado del alumno, no de recorrer sus materias
+        var rendimiento = alumnoRepo.findRendimientoByAuth0Id(auth0Id).orElse(RendimientoAlumno.VACIO);
+        return new BoletaResponse(
+                rendimiento.promedio(),
+                rendimiento.materiasConNota(),
+                rendimiento.materiasAprobadas(),
+                repo.findBoletaByAuth0Id(auth0Id));
+    }
+
+    /**
+     * Recorre las inscripciones (todas o las de un ciclo) fila por fila; la
+     * transacción queda abierta mientras {@code sink} escribe la respuesta,
+     * así que se llama desde el hilo que la envía.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(String ciclo, Consumer<AlumnoMateriaExportRow> sink) {
+        log.debug("Exportando inscripciones (ciclo={})", ciclo);
+        long filas = 0;
+        try (var rows = repo.streamExport(ciclo)) {
+            for (var it = rows.iterator(); it.hasNext(); filas++) {
+                sink.accept(it.next());
+            }
+        }
+        log.info("Exportación de inscripciones: {} filas (ciclo={})", filas, ciclo);
     }
 
     @Override
     @Transactional(readOnly = true)
     public AlumnoMateriaResponse getById(UUID id) {
         log.debug("Buscando inscripción por ID {}", id);
-        var e = repo.findById(id)
+        return repo.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Inscripción no encontrada: " + id));
+    }
+
+    // ?fields=: solo las columnas pedidas, sin cargar la entidad
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> listAll(String cursor, Integer size, String fields) {
+        log.debug("Listando página de inscripciones con campos {} (cursor={}, size={})", fields, cursor, size);
+        int limit = CursorPagination.pageSize(size);
+        var rows = repo.findFields(AlumnoMateriaRepository.FIELDS, FieldSelection.parse(AlumnoMateriaRepository.FIELDS, fields),
+                CursorPagination.decode(cursor), limit + 1);
+        return CursorPagination.page(rows, limit, r -> (UUID) r.get("id"), r -> r);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getById(UUID id, String fields) {
+        log.debug("Buscando inscripción por ID {} con campos {}", id, fields);
+        return repo.findFieldsById(AlumnoMateriaRepository.FIELDS, FieldSelection.parse(AlumnoMateriaRepository.FIELDS, fields), id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inscripción no encontrada: " + id));
-        return mapper.toResponse(e);
     }
 
     @Override
@@ -73,49 +146,146 @@ public class AlumnoMateriaServiceImpl implements AlumnoMateriaService {
         log.debug("Creando inscripcion: {}", req);
         validateRequest(req);
 
-        AlumnoEntity alumno = alumnoRepo.findById(req.alumnoId())
+        // Una sola consulta verifica las tres referencias; luego se asignan
+        // proxies por ID en lugar de cargar las filas completas
+        var refs = repo.checkReferences(req.alumnoId(), req.materiaId(), req.docenteId())
                 .orElseThrow(() -> new ResourceNotFoundException("Alumno no encontrado: " + req.alumnoId()));
-        MateriaEntity materia = materiaRepo.findById(req.materiaId())
-                .orElseThrow(() -> new ResourceNotFoundException("Materia no encontrada: " + req.materiaId()));
-        DocenteEntity docente = docenteRepo.findById(req.docenteId())
-                .orElseThrow(() -> new ResourceNotFoundException("Docente no encontrado: " + req.docenteId()));
-
-        // Prevención de duplicados: mismo alumno, misma materia y mismo ciclo
-        if (repo.existsByAlumnoAndMateriaAndCiclo(alumno, materia, req.ciclo())) {
-            throw new ConflictException("Ya existe una inscripción para este alumno, materia y ciclo");
+        if (refs.getMaterias() == 0) {
+            throw new ResourceNotFoundException("Materia no encontrada: " + req.materiaId());
+        }
+        if (refs.getDocentes() == 0) {
+            throw new ResourceNotFoundException("Docente no encontrado: " + req.docenteId());
         }
 
         var entity = mapper.toEntity(req);
-        entity.setAlumno(alumno);
-        entity.setMateria(materia);
-        entity.setDocente(docente);
-        var saved = repo.save(entity);
+        entity.setAlumno(alumnoRepo.getReferenceById(req.alumnoId()));
+        entity.setMateria(materiaRepo.getReferenceById(req.materiaId()));
+        entity.setDocente(docenteRepo.getReferenceById(req.docenteId()));
+
+        // Prevención de duplicados: la garantiza el índice único (alumno, materia, ciclo)
+        AlumnoMateriaEntity saved;
+        try {
+            saved = repo.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.matches(ex, AlumnoMateriaEntity.UK_INSCRIPCION)) {
+                throw new ConflictException("Ya existe una inscripción para este alumno, materia y ciclo");
+            }
+            throw ex;
+        }
+        estadisticas.registrarAltas(List.of(nota(saved)));
+        evictBoleta(refs.getAuth0Id());
         log.info("Inscripción creada con ID {}", saved.getId());
         return mapper.toResponse(saved);
     }
 
+    @Override
+    public AlumnoMateriaBatchResponse createBatch(List<AlumnoMateriaRequest> requests) {
+        log.debug("Creando lote de {} inscripciones", requests.size());
+        var results = new AlumnoMateriaBatchItemResponse[requests.size()];
+
+        // 1) Validación por fila
+        List<Integer> candidatas = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                if (requests.get(i) == null) {
+                    throw new BadRequestException("La fila está vacía");
+                }
+                validateRequest(requests.get(i));
+                candidatas.add(i);
+            } catch (BadRequestException ex) {
+                results[i] = rowError(i, HttpStatus.BAD_REQUEST, ex.getMessage());
+            }
+        }
+
+        // 2) Referencias y duplicados: una consulta IN por tabla
+        Map<UUID, String> alumnos = Map.of();
+        Set<UUID> materias = Set.of();
+        Set<UUID> docentes = Set.of();
+        Set<AlumnoMateriaKey> ocupadas = new HashSet<>();
+        if (!candidatas.isEmpty()) {
+            alumnos = alumnoRepo.findByIdAlumnoIn(collect(requests, candidatas, AlumnoMateriaRequest::alumnoId)).stream()
+                    .collect(Collectors.toMap(AlumnoRepository.Auth0IdView::getIdAlumno,
+                            AlumnoRepository.Auth0IdView::getAuth0Id));
+            materias = materiaRepo.findExistingIds(collect(requests, candidatas, AlumnoMateriaRequest::materiaId));
+            docentes = docenteRepo.findExistingIds(collect(requests, candidatas, AlumnoMateriaRequest::docenteId));
+            ocupadas.addAll(repo.findExistingKeys(
+                    collect(requests, candidatas, AlumnoMateriaRequest::alumnoId),
+                    collect(requests, candidatas, AlumnoMateriaRequest::materiaId),
+                    collect(requests, candidatas, AlumnoMateriaRequest::ciclo)));
+        }
+
+        // 3) Armar entidades con referencias (sin cargar filas) y persistir en lote JDBC
+        List<AlumnoMateriaEntity> nuevas = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        for (int i : candidatas) {
+            AlumnoMateriaRequest req = requests.get(i);
+            if (!alumnos.containsKey(req.alumnoId())) {
+                results[i] = rowError(i, HttpStatus.NOT_FOUND, "Alumno no encontrado: " + req.alumnoId());
+            } else if (!materias.contains(req.materiaId())) {
+                results[i] = rowError(i, HttpStatus.NOT_FOUND, "Materia no encontrada: " + req.materiaId());
+            } else if (!docentes.contains(req.docenteId())) {
+                results[i] = rowError(i, HttpStatus.NOT_FOUND, "Docente no encontrado: " + req.docenteId());
+            } else if (!ocupadas.add(new AlumnoMateriaKey(req.alumnoId(), req.materiaId(), req.ciclo()))) {
+                results[i] = rowError(i, HttpStatus.CONFLICT,
+                        "Ya existe una inscripción para este alumno, materia y ciclo");
+            } else {
+                var entity = mapper.toEntity(req);
+                entity.setAlumno(alumnoRepo.getReferenceById(req.alumnoId()));
+                entity.setMateria(materiaRepo.getReferenceById(req.materiaId()));
+                entity.setDocente(docenteRepo.getReferenceById(req.docenteId()));
+                nuevas.add(entity);
+                indices.add(i);
+            }
+        }
+        try {
+            // Flush aquí: un alta concurrente posterior a findExistingKeys choca
+            // con el índice único ahora y no como un 500 al confirmar
+            repo.saveAllAndFlush(nuevas);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.matches(ex, AlumnoMateriaEntity.UK_INSCRIPCION)) {
+                throw new ConflictException(
+                        "Otra petición inscribió al mismo alumno, materia y ciclo durante el lote; reintente");
+            }
+            throw ex;
+        }
+        estadisticas.registrarAltas(nuevas.stream().map(AlumnoMateriaServiceImpl::nota).toList());
+
+        for (int k = 0; k < nuevas.size(); k++) {
+            int i = indices.get(k);
+            results[i] = new AlumnoMateriaBatchItemResponse(i, HttpStatus.CREATED.value(), nuevas.get(k).getId(), null);
+            evictBoleta(alumnos.get(requests.get(i).alumnoId()));
+        }
+        log.info("Lote de inscripciones: {} creadas de {}", nuevas.size(), requests.size());
+        return new AlumnoMateriaBatchResponse(
+                requests.size(), nuevas.size(), requests.size() - nuevas.size(), Arrays.asList(results));
+    }
+
     @Override
     public AlumnoMateriaResponse update(UUID id, AlumnoMateriaRequest req) {
         log.debug("Actualizando inscripción {} con {}", id, req);
         validateRequest(req);
 
-        var e = repo.findById(id)
+        var e = repo.findWithAlumnoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Inscripción no encontrada: " + id));
 
-        // Si cambian alumno, materia o ciclo, verificar duplicado
-        boolean keyChanged = !e.getAlumno().getIdAlumno().equals(req.alumnoId())
-                || !e.getMateria().getIdMateria().equals(req.materiaId())
-                || !e.getCiclo().equals(req.ciclo());
-        if (keyChanged
-                && repo.existsByAlumnoAndMateriaAndCiclo(
-                alumnoRepo.getReferenceById(req.alumnoId()),
-                materiaRepo.getReferenceById(req.materiaId()),
-                req.ciclo())) {
-            throw new ConflictException("Otra inscripción ya usa el mismo alumno, materia y ciclo");
-        }
-
+        // Si el cambio choca con otra inscripción lo detecta el índice único
+        NotaInscripcion antes = nota(e);
         mapper.updateEntityFromDto(req, e);
-        var updated = repo.save(e);
+        AlumnoMateriaEntity updated;
+        try {
+            updated = repo.saveAndFlush(e);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.matches(ex, AlumnoMateriaEntity.UK_INSCRIPCION)) {
+                throw new ConflictException("Otra inscripción ya usa el mismo alumno, materia y ciclo");
+            }
+            throw ex;
+        }
+        NotaInscripcion despues = nota(updated);
+        if (!despues.equals(antes)) {
+            estadisticas.registrarBajas(List.of(antes));
+            estadisticas.registrarAltas(List.of(despues));
+        }
+        evictBoleta(e.getAlumno().getAuth0Id());
         log.info("Inscripción {} actualizada", id);
         return mapper.toResponse(updated);
     }
@@ -123,34 +293,50 @@ public class AlumnoMateriaServiceImpl implements AlumnoMateriaService {
     @Override
     public void delete(UUID id) {
         log.debug("Eliminando inscripción {}", id);
-        if (!repo.existsById(id)) {
-            throw new ResourceNotFoundException("Inscripción no encontrada: " + id);
-        }
-        repo.deleteById(id);
+        var e = repo.findWithAlumnoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Inscripción no encontrada: " + id));
+        repo.delete(e);
+        estadisticas.registrarBajas(List.of(nota(e)));
+        evictBoleta(e.getAlumno().getAuth0Id());
         log.info("Inscripción {} eliminada", id);
     }
 
-    private void validateRequest(AlumnoMateriaRequest req) {
-        if (req.alumnoId() == null) {
-            throw new BadRequestException("El alumnoId es obligatorio");
-        }
-        if (req.materiaId() == null) {
-            throw new BadRequestException("El materiaId es obligatorio");
-        }
-        if (req.docenteId() == null) {
-            throw new BadRequestException("El docenteId es obligatorio");
-        }
-        if (req.ciclo() == null || req.ciclo().isBlank()) {
-            throw new BadRequestException("El ciclo es obligatorio");
-        }
-        if (!CICLO_PATTERN.matcher(req.ciclo()).matches()) {
-            throw new BadRequestException("El ciclo debe tener formato YYYY-1 o YYYY-2");
+    private static <T> Set<T> collect(List<AlumnoMateriaRequest> requests, List<Integer> indices,
+                                      Function<AlumnoMateriaRequest, T> field) {
+        return indices.stream().map(i -> field.apply(requests.get(i))).collect(Collectors.toSet());
+    }
+
+    private static NotaInscripcion nota(AlumnoMateriaEntity e) {
+        return new NotaInscripcion(
+                e.getAlumno().getIdAlumno(), e.getMateria().getIdMateria(), e.getCiclo(), e.getNotaFinal());
+    }
+
+    private static AlumnoMateriaBatchItemResponse rowError(int index, HttpStatus status, String message) {
+        return new AlumnoMateriaBatchItemResponse(index, status.value(), null, message);
+    }
+
+    // La boleta cacheada solo cambia para el alumno de la inscripción tocada
+    private void evictBoleta(String auth0Id) {
+        Cache cache = cacheManager.getCache(CacheConfig.BOLETA);
+        if (cache != null) {
+            cache.evict(auth0Id);
         }
-        if (req.notaFinal() == null) {
-            throw new BadRequestException("La nota final es obligatoria");
+    }
+
+    void validateRequest(AlumnoMateriaRequest req) {
+        RULES.validate(req);
+    }
+
+    // YYYY-1 o YYYY-2
+    private static boolean isCiclo(String s) {
+        if (s.length() != 6 || s.charAt(4) != '-' || (s.charAt(5) != '1' && s.charAt(5) != '2')) {
+            return false;
         }
-        if (req.notaFinal() < 0 || req.notaFinal() > 100) {
-            throw new BadRequestException("La nota final debe estar entre 0 y 100");
+        for (int i = 0; i < 4; i++) {
+            if (s.charAt(i) < '0' || s.charAt(i) > '9') {
+                return false;
+            }
         }
+        return true;
     }
 }
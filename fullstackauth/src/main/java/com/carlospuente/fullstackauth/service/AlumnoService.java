@@ -1,15 +1,27 @@
 package com.carlospuente.fullstackauth.service;
 
+import com.carlospuente.fullstackauth.domain.dto.AlumnoImportResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoPerfilResponse;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoRequest;
+import com.carlospuente.fullstackauth.domain.dto.CursorPage;
+import com.carlospuente.fullstackauth.domain.dto.DataVersion;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoResponse;
+import java.io.Reader;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface AlumnoService {
-    List<AlumnoResponse> listAll();
+    CursorPage<AlumnoResponse> listAll(String cursor, Integer size);
     AlumnoResponse getById(UUID id);
+    CursorPage<Map<String, Object>> listAll(String cursor, Integer size, String fields);
+    Map<String, Object> getById(UUID id, String fields);
+    List<AlumnoResponse> search(String q, Integer size);
+    DataVersion listVersion();
+    DataVersion version(UUID id);
     AlumnoResponse create(AlumnoRequest request, String auth0Id);
+    AlumnoImportResponse importCsv(Reader csv);
     AlumnoResponse update(UUID id, AlumnoRequest request);
     void delete(UUID id);
-    AlumnoResponse getMe(String auth0Id);
+    AlumnoPerfilResponse getMe(String auth0Id);
 }
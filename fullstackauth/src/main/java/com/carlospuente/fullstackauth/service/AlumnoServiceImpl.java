@@ -1,39 +1,100 @@
 package com.carlospuente.fullstackauth.service;
 
+import com.carlospuente.fullstackauth.domain.dto.AlumnoImportError;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoImportResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoKey;
 import com.carlospuente.fullstackauth.domain.model.AlumnoEntity;
 import com.carlospuente.fullstackauth.exception.ConflictException;
+import com.carlospuente.fullstackauth.repository.AlumnoMateriaRepository;
 import com.carlospuente.fullstackauth.repository.AlumnoRepository;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoPerfilResponse;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoRequest;
+import com.carlospuente.fullstackauth.domain.dto.CursorPage;
+import com.carlospuente.fullstackauth.domain.dto.DataVersion;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoResponse;
 import com.carlospuente.fullstackauth.domain.mapper.AlumnoMapper;
-import com.carlospuente.fullstackauth.exception.BadRequestException;
 import com.carlospuente.fullstackauth.exception.ResourceNotFoundException;
+import com.carlospuente.fullstackauth.config.CacheConfig;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.carlospuente.fullstackauth.exception.BadRequestException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.Reader;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 @Transactional
 public class AlumnoServiceImpl implements AlumnoService {
 
     private static final Logger log = LoggerFactory.getLogger(AlumnoServiceImpl.class);
 
+    private static final int SEARCH_INDEX_BATCH = 1000;
+
+    // Filas por bloque de importación: una consulta de duplicados por bloque
+    private static final int IMPORT_CHUNK = 1000;
+    private static final List<String> IMPORT_COLUMNS =
+            List.of("nombres", "apellidos", "fechaIngreso", "direccion", "telefono", "auth0Id");
+
+    private static final RequestValidator<AlumnoRequest> RULES = RequestValidator.<AlumnoRequest>builder()
+            .notBlank(AlumnoRequest::nombres, "El campo 'nombres' es obligatorio")
+            .notBlank(AlumnoRequest::apellidos, "El campo 'apellidos' es obligatorio")
+            .rule(r -> (r.nombres() == null || r.nombres().length() <= 100)
+                            && (r.apellidos() == null || r.apellidos().length() <= 100),
+                    "Los nombres o apellidos no pueden superar 100 caracteres")
+            .required(AlumnoRequest::fechaIngreso, "La fecha de ingreso es obligatoria")
+            .notFuture(AlumnoRequest::fechaIngreso, "La fecha de ingreso no puede ser futura")
+            .notBlank(AlumnoRequest::direccion, "La dirección es obligatoria")
+            .maxLength(AlumnoRequest::direccion, 255, "La dirección no puede superar 255 caracteres")
+            .notBlank(AlumnoRequest::telefono, "El teléfono es obligatorio")
+            .maxLength(AlumnoRequest::telefono, 20, "El teléfono no puede superar 20 caracteres")
+            .format(AlumnoRequest::telefono, AlumnoServiceImpl::isTelefono, "El teléfono tiene un formato inválido")
+            .build();
+
     private final AlumnoRepository repo;
     private final AlumnoMapper mapper;
+    private final AlumnoMateriaRepository inscripcionRepo;
+    private final EstadisticaService estadisticas;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final NameSearchIndex<AlumnoResponse> searchIndex = new NameSearchIndex<>();
 
     @Override
     @Transactional(readOnly = true)
-    public List<AlumnoResponse> listAll() {
-        log.debug("Obteniendo lista completa de alumnos");
-        return repo.findAll().stream()
-                .map(mapper::toResponse)
-                .toList();
+    public CursorPage<AlumnoResponse> listAll(String cursor, Integer size) {
+        log.debug("Obteniendo página de alumnos (cursor={}, size={})", cursor, size);
+        int limit = CursorPagination.pageSize(size);
+        UUID after = CursorPagination.decode(cursor);
+        var rows = after == null
+                ? repo.findAllByOrderByIdAlumnoAsc(Limit.of(limit + 1))
+                : repo.findByIdAlumnoGreaterThanOrderByIdAlumnoAsc(after, Limit.of(limit + 1));
+        return CursorPagination.page(rows, limit, AlumnoEntity::getIdAlumno, mapper::toResponse);
     }
 
     @Override
@@ -45,6 +106,74 @@ public class AlumnoServiceImpl implements AlumnoService {
         return mapper.toResponse(e);
     }
 
+    // ?fields=: solo las columnas pedidas, sin cargar la entidad
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> listAll(String cursor, Integer size, String fields) {
+        log.debug("Listando página de alumnos con campos {} (cursor={}, size={})", fields, cursor, size);
+        int limit = CursorPagination.pageSize(size);
+        var rows = repo.findFields(AlumnoRepository.FIELDS, FieldSelection.parse(AlumnoRepository.FIELDS, fields),
+                CursorPagination.decode(cursor), limit + 1);
+        return CursorPagination.page(rows, limit, r -> (UUID) r.get("idAlumno"), r -> r);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getById(UUID id, String fields) {
+        log.debug("Buscando alumno por ID {} con campos {}", id, fields);
+        return repo.findFieldsById(AlumnoRepository.FIELDS, FieldSelection.parse(AlumnoRepository.FIELDS, fields), id)
+                .orElseThrow(() -> new ResourceNotFoundException("Alumno no encontrado: " + id));
+    }
+
+    @Override
+    // Se responde desde el índice en memoria, sin abrir transacción ni conexión
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<AlumnoResponse> search(String q, Integer size) {
+        if (q == null || q.isBlank()) {
+            throw new BadRequestException("El parámetro 'q' es obligatorio");
+        }
+        return searchIndex.search(q, CursorPagination.pageSize(size));
+    }
+
+    /**
+     * Carga el índice de búsqueda al arrancar, por páginas sobre la PK. Si la
+     * base no responde la aplicación arranca igual y el índice solo tendrá lo
+     * que se escriba desde entonces. Cada página es su propia transacción de
+     * lectura, así no se acumula todo en un mismo contexto de persistencia.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void buildSearchIndex() {
+        try {
+            Limit page = Limit.of(SEARCH_INDEX_BATCH);
+            List<AlumnoEntity> rows = repo.findAllByOrderByIdAlumnoAsc(page);
+            while (!rows.isEmpty()) {
+                for (AlumnoEntity e : rows) {
+                    searchIndex.put(e.getIdAlumno(), e.getNombres(), e.getApellidos(), mapper.toResponse(e));
+                }
+                if (rows.size() < SEARCH_INDEX_BATCH) {
+                    break;
+                }
+                rows = repo.findByIdAlumnoGreaterThanOrderByIdAlumnoAsc(rows.get(rows.size() - 1).getIdAlumno(), page);
+            }
+            log.info("Índice de búsqueda de alumnos cargado con {} registros", searchIndex.size());
+        } catch (DataAccessException ex) {
+            log.error("No se pudo cargar el índice de búsqueda de alumnos: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DataVersion listVersion() {
+        return repo.findVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DataVersion version(UUID id) {
+        return repo.findVersionById(id);
+    }
+
     @Override
     public AlumnoResponse create(AlumnoRequest req, String auth0Id) {
         log.debug("Creando alumno con datos {} y auth0Id={}", req, auth0Id);
@@ -61,10 +190,55 @@ public class AlumnoServiceImpl implements AlumnoService {
         AlumnoEntity e = mapper.toEntity(req);
         e.setAuth0Id(auth0Id);   // ← asigna aquí el auth0Id
         AlumnoEntity saved = repo.save(e);
+        AlumnoResponse response = mapper.toResponse(saved);
+        searchIndex.putAfterCommit(saved.getIdAlumno(), saved.getNombres(), saved.getApellidos(), response);
         log.info("Alumno creado con ID {} (auth0Id={})", saved.getIdAlumno(), auth0Id);
-        return mapper.toResponse(saved);
+        return response;
     }
 
+    /**
+     * Importa alumnos desde un CSV con encabezado (columnas de
+     * {@link #IMPORT_COLUMNS}, en cualquier orden). Se lee por bloques de
+     * {@link #IMPORT_CHUNK} filas: la validación de cada bloque corre en
+     * paralelo, los duplicados se buscan en el archivo con un HashSet y en la
+     * base con una sola consulta por bloque, y las filas válidas se insertan en
+     * lotes JDBC. Las filas con error no detienen la importación; se reportan
+     * con su línea.
+     * <p>
+     * Cada bloque se confirma en su propia transacción: un bloque que falla
+     * al insertar (p. ej. un alta concurrente que pasó la consulta de
+     * duplicados) se reporta fila por fila sin deshacer los anteriores, y no
+     * se retienen candados mientras se lee el resto del archivo.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AlumnoImportResponse importCsv(Reader csv) {
+        long inicio = System.nanoTime();
+        CsvReader reader = new CsvReader(csv);
+        Importacion importacion;
+        try {
+            importacion = new Importacion(importColumns(reader.next()));
+            List<FilaCsv> bloque = new ArrayList<>(IMPORT_CHUNK);
+            for (List<String> campos = reader.next(); campos != null; campos = reader.next()) {
+                bloque.add(new FilaCsv(reader.recordLine(), campos));
+                if (bloque.size() == IMPORT_CHUNK) {
+                    importacion.procesar(bloque);
+                    bloque.clear();
+                }
+            }
+            importacion.procesar(bloque);
+        } catch (IOException ex) {
+            throw new BadRequestException("No se pudo leer el CSV: " + ex.getMessage());
+        }
+
+        importacion.errores.sort(Comparator.comparingLong(AlumnoImportError::linea));
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        double filasPorSegundo = Math.round(importacion.total * 10_000.0 / Math.max(duracionMs, 1)) / 10.0;
+        log.info("Importación de alumnos: {} creados de {} en {} ms ({} filas/s)",
+                importacion.creados, importacion.total, duracionMs, filasPorSegundo);
+        return new AlumnoImportResponse(importacion.total, importacion.creados,
+                importacion.total - importacion.creados, duracionMs, filasPorSegundo, importacion.errores);
+    }
 
     @Override
     public AlumnoResponse update(UUID id, AlumnoRequest req) {
@@ -86,61 +260,229 @@ public class AlumnoServiceImpl implements AlumnoService {
 
         mapper.updateEntityFromDto(req, e);
         AlumnoEntity updated = repo.save(e);
+        AlumnoResponse response = mapper.toResponse(updated);
+        searchIndex.putAfterCommit(id, updated.getNombres(), updated.getApellidos(), response);
         log.info("Alumno {} actualizado", id);
-        return mapper.toResponse(updated);
+        return response;
     }
 
     @Override
     public void delete(UUID id) {
         log.debug("Eliminando alumno {}", id);
-        if (!repo.existsById(id)) {
-            throw new ResourceNotFoundException("Alumno no encontrado: " + id);
-        }
+        var alumno = repo.findByIdAlumnoIn(List.of(id)).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Alumno no encontrado: " + id));
+        // Las inscripciones se borran en cascada; sus notas salen de las estadísticas
+        var notas = inscripcionRepo.findNotasByAlumnoId(id);
         repo.deleteById(id);
+        estadisticas.registrarBajas(notas);
+        searchIndex.removeAfterCommit(id);
+        Cache boleta = cacheManager.getCache(CacheConfig.BOLETA);
+        if (boleta != null) {
+            boleta.evict(alumno.getAuth0Id());
+        }
         log.info("Alumno {} eliminado", id);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public AlumnoResponse getMe(String auth0Id) {
+    public AlumnoPerfilResponse getMe(String auth0Id) {
         log.debug("Buscando alumno por Auth0 ID {}", auth0Id);
         AlumnoEntity e = repo.findByAuth0Id(auth0Id)
                 .orElseThrow(() -> new ResourceNotFoundException("Alumno no encontrado para Auth0 ID: " + auth0Id));
-        return mapper.toResponse(e);
+        return mapper.toPerfilResponse(e);
     }
 
     // --------------------------------------------------------
-    // Validaciones comunes
+    // Importación CSV
     // --------------------------------------------------------
-    private void validateRequest(AlumnoRequest req) {
-        if (req.nombres() == null || req.nombres().isBlank()) {
-            throw new BadRequestException("El campo 'nombres' es obligatorio");
+    private record FilaCsv(long linea, List<String> campos) {}
+
+    // Resultado de validar una fila: la solicitud lista o el motivo del rechazo
+    private record FilaValidada(long linea, AlumnoRequest req, String auth0Id, String error) {}
+
+    // Posición de cada columna de IMPORT_COLUMNS en el encabezado
+    private static int[] importColumns(List<String> encabezado) {
+        if (encabezado == null) {
+            throw new BadRequestException("El CSV está vacío");
         }
-        if (req.apellidos() == null || req.apellidos().isBlank()) {
-            throw new BadRequestException("El campo 'apellidos' es obligatorio");
+        if (!encabezado.isEmpty() && encabezado.get(0).startsWith("\uFEFF")) {
+            encabezado.set(0, encabezado.get(0).substring(1));
         }
-        if (req.nombres().length() > 100 || req.apellidos().length() > 100) {
-            throw new BadRequestException("Los nombres o apellidos no pueden superar 100 caracteres");
+        int[] posiciones = new int[IMPORT_COLUMNS.size()];
+        List<String> faltantes = new ArrayList<>();
+        for (int c = 0; c < posiciones.length; c++) {
+            posiciones[c] = -1;
+            for (int i = 0; i < encabezado.size(); i++) {
+                if (encabezado.get(i).trim().equalsIgnoreCase(IMPORT_COLUMNS.get(c))) {
+                    posiciones[c] = i;
+                    break;
+                }
+            }
+            if (posiciones[c] < 0) {
+                faltantes.add(IMPORT_COLUMNS.get(c));
+            }
         }
-        if (req.fechaIngreso() == null) {
-            throw new BadRequestException("La fecha de ingreso es obligatoria");
+        if (!faltantes.isEmpty()) {
+            throw new BadRequestException("Faltan columnas en el encabezado del CSV: " + String.join(", ", faltantes));
         }
-        if (req.fechaIngreso().isAfter(LocalDate.now())) {
-            throw new BadRequestException("La fecha de ingreso no puede ser futura");
+        return posiciones;
+    }
+
+    private static FilaValidada validarFila(FilaCsv fila, int[] columnas) {
+        Function<Integer, String> campo = c -> columnas[c] < fila.campos().size()
+                ? fila.campos().get(columnas[c]).trim() : "";
+        try {
+            LocalDate fechaIngreso = null;
+            String fecha = campo.apply(2);
+            if (!fecha.isEmpty()) {
+                try {
+                    fechaIngreso = LocalDate.parse(fecha);
+                } catch (DateTimeParseException ex) {
+                    throw new BadRequestException("La fecha de ingreso debe tener el formato AAAA-MM-DD");
+                }
+            }
+            var req = new AlumnoRequest(campo.apply(0), campo.apply(1), fechaIngreso, campo.apply(3), campo.apply(4));
+            RULES.validate(req);
+            String auth0Id = campo.apply(5);
+            if (auth0Id.isEmpty()) {
+                throw new BadRequestException("El campo 'auth0Id' es obligatorio");
+            }
+            if (auth0Id.length() > 255) {
+                throw new BadRequestException("El auth0Id no puede superar 255 caracteres");
+            }
+            return new FilaValidada(fila.linea(), req, auth0Id, null);
+        } catch (BadRequestException ex) {
+            return new FilaValidada(fila.linea(), null, null, ex.getMessage());
         }
-        if (req.direccion() == null || req.direccion().isBlank()) {
-            throw new BadRequestException("La dirección es obligatoria");
+    }
+
+    // Llave de duplicados sin distinguir mayúsculas, como la collation de la tabla
+    private static AlumnoKey importKey(String nombres, String apellidos, LocalDate fechaIngreso) {
+        return new AlumnoKey(nombres.toLowerCase(Locale.ROOT), apellidos.toLowerCase(Locale.ROOT), fechaIngreso);
+    }
+
+    /** Estado de una importación: lo ya visto en el archivo y el reporte. */
+    private final class Importacion {
+
+        private final int[] columnas;
+        private final Set<AlumnoKey> vistos = new HashSet<>();
+        private final Set<String> auth0Vistos = new HashSet<>();
+        private final List<AlumnoImportError> errores = new ArrayList<>();
+        private int total;
+        private int creados;
+
+        Importacion(int[] columnas) {
+            this.columnas = columnas;
         }
-        if (req.direccion().length() > 255) {
-            throw new BadRequestException("La dirección no puede superar 255 caracteres");
+
+        void procesar(List<FilaCsv> bloque) {
+            if (bloque.isEmpty()) {
+                return;
+            }
+            total += bloque.size();
+
+            // 1) Validación en paralelo (RULES no guarda estado); toList conserva el orden
+            List<FilaValidada> filas = bloque.parallelStream()
+                    .map(f -> validarFila(f, columnas))
+                    .toList();
+
+            // 2) Duplicados en la base y 3) INSERT en lotes JDBC, en la transacción del bloque
+            List<FilaValidada> candidatas = new ArrayList<>(filas.size());
+            for (FilaValidada f : filas) {
+                if (f.error() != null) {
+                    errores.add(new AlumnoImportError(f.linea(), HttpStatus.BAD_REQUEST.value(), f.error()));
+                } else {
+                    candidatas.add(f);
+                }
+            }
+            List<FilaValidada> aceptadas = new ArrayList<>(candidatas.size());
+            try {
+                int insertadas = transactionTemplate.execute(tx -> insertar(candidatas, aceptadas));
+                creados += insertadas;
+                log.debug("Bloque de importación: {} de {} filas insertadas", insertadas, bloque.size());
+            } catch (DataIntegrityViolationException ex) {
+                log.warn("Bloque de importación descartado: {} filas ({})", aceptadas.size(), ex.getMessage());
+                for (FilaValidada f : aceptadas) {
+                    vistos.remove(importKey(f.req().nombres(), f.req().apellidos(), f.req().fechaIngreso()));
+                    auth0Vistos.remove(f.auth0Id());
+                    conflicto(f, "No se pudo insertar el bloque: conflicto con un alta concurrente");
+                }
+            }
+        }
+
+        // Devuelve cuántas filas insertó; deja en 'aceptadas' las que intentó insertar
+        private int insertar(List<FilaValidada> candidatas, List<FilaValidada> aceptadas) {
+            // Duplicados en la base: una consulta por llave natural y otra por auth0Id
+            Set<AlumnoKey> ocupadas = new HashSet<>();
+            Set<String> auth0Ocupados = new HashSet<>();
+            if (!candidatas.isEmpty()) {
+                repo.findExistingKeys(collect(candidatas, f -> f.req().nombres()),
+                                collect(candidatas, f -> f.req().apellidos()),
+                                collect(candidatas, f -> f.req().fechaIngreso()))
+                        .forEach(k -> ocupadas.add(importKey(k.nombres(), k.apellidos(), k.fechaIngreso())));
+                auth0Ocupados.addAll(repo.findExistingAuth0Ids(collect(candidatas, FilaValidada::auth0Id)));
+            }
+
+            // Duplicados dentro del archivo y armado de entidades
+            List<AlumnoEntity> nuevos = new ArrayList<>(candidatas.size());
+            for (FilaValidada f : candidatas) {
+                AlumnoRequest req = f.req();
+                AlumnoKey key = importKey(req.nombres(), req.apellidos(), req.fechaIngreso());
+                if (ocupadas.contains(key)) {
+                    conflicto(f, "Ya existe un alumno con los mismos datos");
+                } else if (auth0Ocupados.contains(f.auth0Id())) {
+                    conflicto(f, "Ya existe un alumno con el auth0Id " + f.auth0Id());
+                } else if (!vistos.add(key)) {
+                    conflicto(f, "El alumno está repetido en el archivo");
+                } else if (!auth0Vistos.add(f.auth0Id())) {
+                    conflicto(f, "El auth0Id " + f.auth0Id() + " está repetido en el archivo");
+                } else {
+                    AlumnoEntity e = mapper.toEntity(req);
+                    e.setAuth0Id(f.auth0Id());
+                    nuevos.add(e);
+                    aceptadas.add(f);
+                }
+            }
+
+            repo.insertarEnLote(nuevos);
+            for (AlumnoEntity e : nuevos) {
+                searchIndex.putAfterCommit(e.getIdAlumno(), e.getNombres(), e.getApellidos(), mapper.toResponse(e));
+            }
+            return nuevos.size();
+        }
+
+        private void conflicto(FilaValidada f, String message) {
+            errores.add(new AlumnoImportError(f.linea(), HttpStatus.CONFLICT.value(), message));
         }
-        if (req.telefono() == null || req.telefono().isBlank()) {
-            throw new BadRequestException("El teléfono es obligatorio");
+    }
+
+    private static <T> Set<T> collect(List<FilaValidada> filas, Function<FilaValidada, T> field) {
+        return filas.stream().map(field).collect(Collectors.toSet());
+    }
+
+    // --------------------------------------------------------
+    // Validaciones comunes
+    // --------------------------------------------------------
+    void validateRequest(AlumnoRequest req) {
+        RULES.validate(req);
+    }
+
+    // patrón simple: dígitos, espacios, guiones y opcional + prefijo país (7 a 20 caracteres)
+    private static boolean isTelefono(String s) {
+        int start = s.charAt(0) == '+' ? 1 : 0;
+        int len = s.length() - start;
+        if (len < 7 || len > 20) {
+            return false;
         }
-        // patrón simple: dígitos, espacios, guiones y opcional + prefijo país
-        if (!req.telefono().matches("^\\+?[0-9\\-\\s]{7,20}$")) {
-            throw new BadRequestException("El teléfono tiene un formato inválido");
+        for (int i = start; i < s.length(); i++) {
+            char c = s.charAt(i);
+            boolean ok = (c >= '0' && c <= '9') || c == '-'
+                    || c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+            if (!ok) {
+                return false;
+            }
         }
+        return true;
     }
 }
 
@@ -0,0 +1,23 @@
+package com.carlospuente.fullstackauth.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Indica si la violación corresponde a la restricción dada. Se compara por
+     * contenido porque cada motor reporta el nombre a su manera
+     * (MySQL lo antepone con la tabla, H2 lo pone en mayúsculas).
+     */
+    static boolean matches(DataIntegrityViolationException ex, String constraint) {
+        return ex.getCause() instanceof ConstraintViolationException cve
+                && cve.getConstraintName() != null
+                && cve.getConstraintName().toLowerCase(Locale.ROOT).contains(constraint.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,100 @@
+package com.carlospuente.fullstackauth.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de CSV (RFC 4180) registro por registro, sin cargar el archivo.
+ * Acepta campos entre comillas con comas, comillas duplicadas y saltos de
+ * línea; los saltos pueden ser {@code \n} o {@code \r\n}.
+ */
+final class CsvReader {
+
+    private final Reader in;
+    private int pending = -2;
+    private long line = 1;
+    private long recordLine;
+
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /** Línea del archivo donde empezó el último registro leído (desde 1). */
+    long recordLine() {
+        return recordLine;
+    }
+
+    /** Campos del siguiente registro, o null al final del archivo. Las líneas vacías se saltan. */
+    List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            skipNewline(c);
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Comillas sin cerrar desde la línea " + recordLine);
+                }
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = n;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c != -1) {
+                    skipNewline(c);
+                }
+                return fields;
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // Tras leer \r o \n, consume el \n de un \r\n
+    private void skipNewline(int c) throws IOException {
+        line++;
+        if (c == '\r') {
+            int n = read();
+            if (n != '\n') {
+                pending = n;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return in.read();
+    }
+}
@@ -0,0 +1,76 @@
+package com.carlospuente.fullstackauth.service;
+
+import com.carlospuente.fullstackauth.domain.dto.CursorPage;
+import com.carlospuente.fullstackauth.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Paginación por cursor (keyset) sobre la llave primaria BINARY(16).
+ * <p>
+ * El cursor es el ID de la última fila devuelta, codificado en Base64 URL-safe,
+ * de modo que cada página es un {@code WHERE id > :cursor ORDER BY id LIMIT n}
+ * sobre el índice primario y cuesta lo mismo sin importar su profundidad.
+ */
+public final class CursorPagination {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorPagination() {
+    }
+
+    /** Tamaño de página efectivo: por defecto si no viene, recortado a {@link #MAX_SIZE}. */
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_SIZE;
+        }
+        if (requested < 1) {
+            throw new BadRequestException("El tamaño de página debe ser mayor que cero");
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    public static UUID decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            byte[] bytes = DECODER.decode(cursor);
+            if (bytes.length != 16) {
+                throw new BadRequestException("Cursor de paginación inválido");
+            }
+            ByteBuffer buf = ByteBuffer.wrap(bytes);
+            return new UUID(buf.getLong(), buf.getLong());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+
+    public static String encode(UUID id) {
+        ByteBuffer buf = ByteBuffer.allocate(16);
+        buf.putLong(id.getMostSignificantBits());
+        buf.putLong(id.getLeastSignificantBits());
+        return ENCODER.encodeToString(buf.array());
+    }
+
+    /**
+     * Arma la página a partir de {@code size + 1} filas ya ordenadas por ID:
+     * la fila extra solo indica que existe una página siguiente.
+     */
+    public static <E, R> CursorPage<R> page(List<E> rows, int size,
+                                            Function<E, UUID> idOf,
+                                            Function<E, R> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> visible = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? encode(idOf.apply(visible.get(size - 1))) : null;
+        return new CursorPage<>(visible.stream().map(mapper).toList(), next);
+    }
+}
@@ -2,11 +2,17 @@ package com.carlospuente.fullstackauth.service;
 
 import com.carlospuente.fullstackauth.domain.dto.*;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface DocenteService {
-    List<DocenteResponse> listAll();
+    CursorPage<DocenteResponse> listAll(String cursor, Integer size);
     DocenteResponse getById(UUID id);
+    CursorPage<Map<String, Object>> listAll(String cursor, Integer size, String fields);
+    Map<String, Object> getById(UUID id, String fields);
+    List<DocenteResponse> search(String q, Integer size);
+    DataVersion listVersion();
+    DataVersion version(UUID id);
     DocenteResponse create(DocenteRequest request);
     DocenteResponse update(UUID id, DocenteRequest request);
     void delete(UUID id);
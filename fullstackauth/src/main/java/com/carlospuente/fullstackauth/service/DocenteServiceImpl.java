@@ -1,39 +1,64 @@
 package com.carlospuente.fullstackauth.service;
 
 import com.carlospuente.fullstackauth.domain.dto.DocenteRequest;
+import com.carlospuente.fullstackauth.domain.dto.CursorPage;
+import com.carlospuente.fullstackauth.domain.dto.DataVersion;
 import com.carlospuente.fullstackauth.domain.dto.DocenteResponse;
 import com.carlospuente.fullstackauth.domain.mapper.DocenteMapper;
 import com.carlospuente.fullstackauth.domain.model.DocenteEntity;
 import com.carlospuente.fullstackauth.exception.ConflictException;
 import com.carlospuente.fullstackauth.repository.DocenteRepository;
-import com.carlospuente.fullstackauth.exception.BadRequestException;
 import com.carlospuente.fullstackauth.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.time.LocalDate;
+import com.carlospuente.fullstackauth.exception.BadRequestException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.annotation.Propagation;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 @Transactional
 public class DocenteServiceImpl implements DocenteService {
 
     private static final Logger log = LoggerFactory.getLogger(DocenteServiceImpl.class);
 
+    private static final int SEARCH_INDEX_BATCH = 1000;
+
+    private static final RequestValidator<DocenteRequest> RULES = RequestValidator.<DocenteRequest>builder()
+            .notBlank(DocenteRequest::nombres, "El campo 'nombres' es obligatorio")
+            .notBlank(DocenteRequest::apellidos, "El campo 'apellidos' es obligatorio")
+            .rule(r -> (r.nombres() == null || r.nombres().length() <= 100)
+                            && (r.apellidos() == null || r.apellidos().length() <= 100),
+                    "Los nombres o apellidos no pueden superar 100 caracteres")
+            .required(DocenteRequest::fechaIngreso, "La fecha de ingreso es obligatoria")
+            .notFuture(DocenteRequest::fechaIngreso, "La fecha de ingreso no puede ser futura")
+            .build();
+
     private final DocenteRepository repo;
     private final DocenteMapper mapper;
+    private final NameSearchIndex<DocenteResponse> searchIndex = new NameSearchIndex<>();
 
     @Override
     @Transactional(readOnly = true)
-    public List<DocenteResponse> listAll() {
-        log.debug("Listando todos los docentes");
-        return repo.findAll().stream()
-                .map(mapper::toResponse)
-                .toList();
+    public CursorPage<DocenteResponse> listAll(String cursor, Integer size) {
+        log.debug("Listando página de docentes (cursor={}, size={})", cursor, size);
+        int limit = CursorPagination.pageSize(size);
+        UUID after = CursorPagination.decode(cursor);
+        var rows = after == null
+                ? repo.findAllByOrderByIdDocenteAsc(Limit.of(limit + 1))
+                : repo.findByIdDocenteGreaterThanOrderByIdDocenteAsc(after, Limit.of(limit + 1));
+        return CursorPagination.page(rows, limit, DocenteEntity::getIdDocente, mapper::toResponse);
     }
 
     @Override
@@ -45,6 +70,74 @@ public class DocenteServiceImpl implements DocenteService {
         return mapper.toResponse(e);
     }
 
+    // ?fields=: solo las columnas pedidas, sin cargar la entidad
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> listAll(String cursor, Integer size, String fields) {
+        log.debug("Listando página de docentes con campos {} (cursor={}, size={})", fields, cursor, size);
+        int limit = CursorPagination.pageSize(size);
+        var rows = repo.findFields(DocenteRepository.FIELDS, FieldSelection.parse(DocenteRepository.FIELDS, fields),
+                CursorPagination.decode(cursor), limit + 1);
+        return CursorPagination.page(rows, limit, r -> (UUID) r.get("idDocente"), r -> r);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getById(UUID id, String fields) {
+        log.debug("Buscando docente por ID {} con campos {}", id, fields);
+        return repo.findFieldsById(DocenteRepository.FIELDS, FieldSelection.parse(DocenteRepository.FIELDS, fields), id)
+                .orElseThrow(() -> new ResourceNotFoundException("Docente no encontrado: " + id));
+    }
+
+    @Override
+    // Se responde desde el índice en memoria, sin abrir transacción ni conexión
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DocenteResponse> search(String q, Integer size) {
+        if (q == null || q.isBlank()) {
+            throw new BadRequestException("El parámetro 'q' es obligatorio");
+        }
+        return searchIndex.search(q, CursorPagination.pageSize(size));
+    }
+
+    /**
+     * Carga el índice de búsqueda al arrancar, por páginas sobre la PK. Si la
+     * base no responde la aplicación arranca igual y el índice solo tendrá lo
+     * que se escriba desde entonces. Cada página es su propia transacción de
+     * lectura, así no se acumula todo en un mismo contexto de persistencia.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void buildSearchIndex() {
+        try {
+            Limit page = Limit.of(SEARCH_INDEX_BATCH);
+            List<DocenteEntity> rows = repo.findAllByOrderByIdDocenteAsc(page);
+            while (!rows.isEmpty()) {
+                for (DocenteEntity e : rows) {
+                    searchIndex.put(e.getIdDocente(), e.getNombres(), e.getApellidos(), mapper.toResponse(e));
+                }
+                if (rows.size() < SEARCH_INDEX_BATCH) {
+                    break;
+                }
+                rows = repo.findByIdDocenteGreaterThanOrderByIdDocenteAsc(rows.get(rows.size() - 1).getIdDocente(), page);
+            }
+            log.info("Índice de búsqueda de docentes cargado con {} registros", searchIndex.size());
+        } catch (DataAccessException ex) {
+            log.error("No se pudo cargar el índice de búsqueda de docentes: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DataVersion listVersion() {
+        return repo.findVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DataVersion version(UUID id) {
+        return repo.findVersionById(id);
+    }
+
     @Override
     public DocenteResponse create(DocenteRequest req) {
         log.debug("Creando docente: {}", req);
@@ -60,8 +153,10 @@ public class DocenteServiceImpl implements DocenteService {
 
         DocenteEntity e = mapper.toEntity(req);
         DocenteEntity saved = repo.save(e);
+        DocenteResponse response = mapper.toResponse(saved);
+        searchIndex.putAfterCommit(saved.getIdDocente(), saved.getNombres(), saved.getApellidos(), response);
         log.info("Docente creado con ID {}", saved.getIdDocente());
-        return mapper.toResponse(saved);
+        return response;
     }
 
     @Override
@@ -85,8 +180,10 @@ public class DocenteServiceImpl implements DocenteService {
 
         mapper.updateEntityFromDto(req, e);
         DocenteEntity updated = repo.save(e);
+        DocenteResponse response = mapper.toResponse(updated);
+        searchIndex.putAfterCommit(id, updated.getNombres(), updated.getApellidos(), response);
         log.info("Docente {} actualizado", id);
-        return mapper.toResponse(updated);
+        return response;
     }
 
     @Override
@@ -96,24 +193,11 @@ public class DocenteServiceImpl implements DocenteService {
             throw new ResourceNotFoundException("Docente no encontrado: " + id);
         }
         repo.deleteById(id);
+        searchIndex.removeAfterCommit(id);
         log.info("Docente {} eliminado", id);
     }
 
-    private void validateRequest(DocenteRequest req) {
-        if (req.nombres() == null || req.nombres().isBlank()) {
-            throw new BadRequestException("El campo 'nombres' es obligatorio");
-        }
-        if (req.apellidos() == null || req.apellidos().isBlank()) {
-            throw new BadRequestException("El campo 'apellidos' es obligatorio");
-        }
-        if (req.nombres().length() > 100 || req.apellidos().length() > 100) {
-            throw new BadRequestException("Los nombres o apellidos no pueden superar 100 caracteres");
-        }
-        if (req.fechaIngreso() == null) {
-            throw new BadRequestException("La fecha de ingreso es obligatoria");
-        }
-        if (req.fechaIngreso().isAfter(LocalDate.now())) {
-            throw new BadRequestException("La fecha de ingreso no puede ser futura");
-        }
+    void validateRequest(DocenteRequest req) {
+        RULES.validate(req);
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.carlospuente.fullstackauth.service;
+
+import com.carlospuente.fullstackauth.domain.dto.*;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface EstadisticaService {
+    List<EstadisticaMateriaCicloResponse> listByMateria(UUID materiaId);
+    EstadisticaMateriaCicloResponse get(UUID materiaId, String ciclo);
+    EstadisticasRebuildResponse rebuild();
+    void registrarAltas(Collection<NotaInscripcion> notas);
+    void registrarBajas(Collection<NotaInscripcion> notas);
+    void eliminarMateria(UUID materiaId);
+}
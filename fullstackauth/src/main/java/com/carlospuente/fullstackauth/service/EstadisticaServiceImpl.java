@@ -0,0 +1,148 @@
+package com.carlospuente.fullstackauth.service;
+
+import com.carlospuente.fullstackauth.config.CacheConfig;
+import com.carlospuente.fullstackauth.domain.dto.EstadisticaMateriaCicloResponse;
+import com.carlospuente.fullstackauth.domain.dto.EstadisticasRebuildResponse;
+import com.carlospuente.fullstackauth.domain.dto.NotaInscripcion;
+import com.carlospuente.fullstackauth.domain.model.EstadisticaMateriaCicloEntity;
+import com.carlospuente.fullstackauth.exception.ResourceNotFoundException;
+import com.carlospuente.fullstackauth.repository.AlumnoRepository;
+import com.carlospuente.fullstackauth.repository.AlumnoRepositoryCustom.DeltaNotas;
+import com.carlospuente.fullstackauth.repository.EstadisticaMateriaCicloRepository;
+import com.carlospuente.fullstackauth.repository.EstadisticaMateriaCicloRepositoryCustom.Delta;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+@Timed("service.method")
+@RequiredArgsConstructor
+@Transactional
+public class EstadisticaServiceImpl implements EstadisticaService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticaServiceImpl.class);
+
+    private final EstadisticaMateriaCicloRepository repo;
+    private final AlumnoRepository alumnoRepo;
+    private final CacheManager cacheManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EstadisticaMateriaCicloResponse> listByMateria(UUID materiaId) {
+        log.debug("Listando estadísticas de la materia {}", materiaId);
+        return repo.findByMateria(materiaId).stream()
+                .map(EstadisticaServiceImpl::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EstadisticaMateriaCicloResponse get(UUID materiaId, String ciclo) {
+        log.debug("Buscando estadísticas de la materia {} en el ciclo {}", materiaId, ciclo);
+        return repo.findById(new EstadisticaMateriaCicloEntity.Clave(materiaId, ciclo))
+                .filter(e -> e.getInscritos() > 0)
+                .map(EstadisticaServiceImpl::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Sin inscripciones para la materia " + materiaId + " en el ciclo " + ciclo));
+    }
+
+    @Override
+    public EstadisticasRebuildResponse rebuild() {
+        long inicio = System.nanoTime();
+        int grupos = repo.reconstruir();
+        int alumnos = alumnoRepo.reconstruirNotas();
+        // Cualquier promedio pudo cambiar: se descartan todas las boletas cacheadas
+        Cache boleta = cacheManager.getCache(CacheConfig.BOLETA);
+        if (boleta != null) {
+            boleta.clear();
+        }
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("Estadísticas reconstruidas: {} grupos y {} alumnos en {} ms", grupos, alumnos, ms);
+        return new EstadisticasRebuildResponse(grupos, alumnos, ms);
+    }
+
+    @Override
+    public void registrarAltas(Collection<NotaInscripcion> notas) {
+        repo.sumar(deltas(notas));
+        alumnoRepo.acumularNotas(deltasPorAlumno(notas, 1));
+    }
+
+    @Override
+    public void registrarBajas(Collection<NotaInscripcion> notas) {
+        repo.restar(deltas(notas));
+        alumnoRepo.acumularNotas(deltasPorAlumno(notas, -1));
+    }
+
+    @Override
+    public void eliminarMateria(UUID materiaId) {
+        repo.eliminarMateria(materiaId);
+    }
+
+    // Un delta por materia y ciclo, en orden de PK para que dos lotes
+    // concurrentes tomen los candados de fila en el mismo orden
+    private static List<Delta> deltas(Collection<NotaInscripcion> notas) {
+        Map<EstadisticaMateriaCicloEntity.Clave, List<Double>> grupos = new TreeMap<>(
+                Comparator.comparing(EstadisticaMateriaCicloEntity.Clave::getIdMateria)
+                        .thenComparing(EstadisticaMateriaCicloEntity.Clave::getCiclo));
+        for (NotaInscripcion n : notas) {
+            grupos.computeIfAbsent(new EstadisticaMateriaCicloEntity.Clave(n.materiaId(), n.ciclo()),
+                    k -> new ArrayList<>()).add(n.notaFinal());
+        }
+        List<Delta> deltas = new ArrayList<>(grupos.size());
+        grupos.forEach((k, v) -> deltas.add(Delta.of(k.getIdMateria(), k.getCiclo(), v)));
+        return deltas;
+    }
+
+    // signo: 1 para altas, -1 para bajas
+    private static List<DeltaNotas> deltasPorAlumno(Collection<NotaInscripcion> notas, int signo) {
+        Map<UUID, double[]> porAlumno = new TreeMap<>();
+        for (NotaInscripcion n : notas) {
+            if (n.notaFinal() == null) {
+                continue;
+            }
+            double[] acc = porAlumno.computeIfAbsent(n.alumnoId(), k -> new double[3]);
+            acc[0] += n.notaFinal();
+            acc[1]++;
+            if (n.notaFinal() >= EstadisticaMateriaCicloEntity.NOTA_APROBATORIA) {
+                acc[2]++;
+            }
+        }
+        List<DeltaNotas> deltas = new ArrayList<>(porAlumno.size());
+        porAlumno.forEach((id, acc) ->
+                deltas.add(new DeltaNotas(id, signo * acc[0], signo * (long) acc[1], signo * (long) acc[2])));
+        return deltas;
+    }
+
+    private static EstadisticaMateriaCicloResponse toResponse(EstadisticaMateriaCicloEntity e) {
+        boolean conNotas = e.getConNota() > 0;
+        return new EstadisticaMateriaCicloResponse(
+                e.getId().getIdMateria(),
+                e.getId().getCiclo(),
+                e.getInscritos(),
+                e.getConNota(),
+                conNotas ? redondear(e.getSumaNotas() / e.getConNota(), 100) : null,
+                e.getNotaMinima(),
+                e.getNotaMaxima(),
+                conNotas ? redondear((double) e.getAprobados() / e.getConNota(), 10_000) : null,
+                Arrays.stream(e.histograma()).boxed().toList()
+        );
+    }
+
+    private static double redondear(double valor, int escala) {
+        return Math.round(valor * escala) / (double) escala;
+    }
+}
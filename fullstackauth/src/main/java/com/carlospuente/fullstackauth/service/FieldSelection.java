@@ -0,0 +1,35 @@
+package com.carlospuente.fullstackauth.service;
+
+import com.carlospuente.fullstackauth.exception.BadRequestException;
+import com.carlospuente.fullstackauth.repository.SparseFields;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Interpreta {@code ?fields=nombres,apellidos}: el ID va siempre primero y
+ * después los campos pedidos, sin repetidos y en el orden en que llegan.
+ */
+final class FieldSelection {
+
+    private FieldSelection() {
+    }
+
+    static List<String> parse(SparseFields<?> fields, String requested) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(fields.id());
+        for (String f : requested.split(",")) {
+            String name = f.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!fields.paths().containsKey(name)) {
+                throw new BadRequestException("Campo desconocido en 'fields': " + name
+                        + " (disponibles: " + String.join(", ", fields.paths().keySet()) + ")");
+            }
+            selected.add(name);
+        }
+        return List.copyOf(selected);
+    }
+}
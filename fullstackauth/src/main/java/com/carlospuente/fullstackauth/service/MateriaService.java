@@ -1,12 +1,16 @@
 package com.carlospuente.fullstackauth.service;
 
 import com.carlospuente.fullstackauth.domain.dto.*;
-import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface MateriaService {
-    List<MateriaResponse> listAll();
+    CursorPage<MateriaResponse> listAll(String cursor, Integer size);
     MateriaResponse getById(UUID id);
+    CursorPage<Map<String, Object>> listAll(String cursor, Integer size, String fields);
+    Map<String, Object> getById(UUID id, String fields);
+    DataVersion listVersion();
+    DataVersion version(UUID id);
     MateriaResponse create(MateriaRequest request);
     MateriaResponse update(UUID id, MateriaRequest request);
     void delete(UUID id);
@@ -1,37 +1,63 @@
 package com.carlospuente.fullstackauth.service;
 
 import com.carlospuente.fullstackauth.domain.dto.MateriaRequest;
+import com.carlospuente.fullstackauth.domain.dto.CursorPage;
+import com.carlospuente.fullstackauth.domain.dto.DataVersion;
 import com.carlospuente.fullstackauth.domain.dto.MateriaResponse;
+import com.carlospuente.fullstackauth.domain.dto.NotaInscripcion;
 import com.carlospuente.fullstackauth.domain.mapper.MateriaMapper;
 import com.carlospuente.fullstackauth.domain.model.MateriaEntity;
-import com.carlospuente.fullstackauth.exception.BadRequestException;
+import com.carlospuente.fullstackauth.repository.AlumnoMateriaRepository;
+import com.carlospuente.fullstackauth.repository.AlumnoRepository;
 import com.carlospuente.fullstackauth.repository.MateriaRepository;
 import com.carlospuente.fullstackauth.exception.ResourceNotFoundException;
+import com.carlospuente.fullstackauth.config.CacheConfig;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import com.carlospuente.fullstackauth.exception.ConflictException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Service
+@Timed("service.method")
 @RequiredArgsConstructor
 @Transactional
 public class MateriaServiceImpl implements MateriaService {
 
     private static final Logger log = LoggerFactory.getLogger(MateriaServiceImpl.class);
+
+    private static final RequestValidator<MateriaRequest> RULES = RequestValidator.<MateriaRequest>builder()
+            .notBlank(MateriaRequest::nombreMateria, "El campo 'nombreMateria' es obligatorio")
+            .trimmedLength(MateriaRequest::nombreMateria, 3, 100,
+                    "El nombre de la materia debe tener entre 3 y 100 caracteres")
+            .build();
+
     private final MateriaRepository repo;
     private final MateriaMapper mapper;
+    private final AlumnoMateriaRepository inscripcionRepo;
+    private final EstadisticaService estadisticas;
+    private final AlumnoRepository alumnoRepo;
+    private final CacheManager cacheManager;
 
     @Override
     @Transactional(readOnly = true)
-    public List<MateriaResponse> listAll() {
-        log.debug("Listando todas las materias");
-        return repo.findAll().stream()
-                .map(mapper::toResponse)
-                .toList();
+    public CursorPage<MateriaResponse> listAll(String cursor, Integer size) {
+        log.debug("Listando página de materias (cursor={}, size={})", cursor, size);
+        int limit = CursorPagination.pageSize(size);
+        UUID after = CursorPagination.decode(cursor);
+        var rows = after == null
+                ? repo.findAllByOrderByIdMateriaAsc(Limit.of(limit + 1))
+                : repo.findByIdMateriaGreaterThanOrderByIdMateriaAsc(after, Limit.of(limit + 1));
+        return CursorPagination.page(rows, limit, MateriaEntity::getIdMateria, mapper::toResponse);
     }
 
     @Override
@@ -43,6 +69,37 @@ public class MateriaServiceImpl implements MateriaService {
         return mapper.toResponse(e);
     }
 
+    // ?fields=: solo las columnas pedidas, sin cargar la entidad
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> listAll(String cursor, Integer size, String fields) {
+        log.debug("Listando página de materias con campos {} (cursor={}, size={})", fields, cursor, size);
+        int limit = CursorPagination.pageSize(size);
+        var rows = repo.findFields(MateriaRepository.FIELDS, FieldSelection.parse(MateriaRepository.FIELDS, fields),
+                CursorPagination.decode(cursor), limit + 1);
+        return CursorPagination.page(rows, limit, r -> (UUID) r.get("idMateria"), r -> r);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getById(UUID id, String fields) {
+        log.debug("Buscando materia por ID {} con campos {}", id, fields);
+        return repo.findFieldsById(MateriaRepository.FIELDS, FieldSelection.parse(MateriaRepository.FIELDS, fields), id)
+                .orElseThrow(() -> new ResourceNotFoundException("Materia no encontrada: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DataVersion listVersion() {
+        return repo.findVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DataVersion version(UUID id) {
+        return repo.findVersionById(id);
+    }
+
     @Override
     public MateriaResponse create(MateriaRequest req) {
         log.debug("Creando materia: {}", req);
@@ -74,8 +131,16 @@ public class MateriaServiceImpl implements MateriaService {
             throw new ConflictException("Otra materia ya usa el nombre '" + nuevoNombre + "'");
         }
 
+        boolean renombrada = !e.getNombreMateria().equals(req.nombreMateria());
         mapper.updateEntityFromDto(req, e);
         MateriaEntity updated = repo.save(e);
+        // La boleta lleva el nombre de la materia
+        if (renombrada) {
+            Cache cache = cacheManager.getCache(CacheConfig.BOLETA);
+            if (cache != null) {
+                inscripcionRepo.findAuth0IdsByMateriaId(id).forEach(cache::evict);
+            }
+        }
         log.info("Materia {} actualizada", id);
         return mapper.toResponse(updated);
     }
@@ -86,17 +151,26 @@ public class MateriaServiceImpl implements MateriaService {
         if (!repo.existsById(id)) {
             throw new ResourceNotFoundException("Materia no encontrada: " + id);
         }
+        // Las inscripciones se borran en cascada: sus notas salen del promedio
+        // de cada alumno y las filas de estadísticas de la materia se descartan
+        var notas = inscripcionRepo.findNotasByMateriaId(id);
         repo.deleteById(id);
+        estadisticas.registrarBajas(notas);
+        estadisticas.eliminarMateria(id);
+        evictBoletas(notas.stream().map(NotaInscripcion::alumnoId).collect(Collectors.toSet()));
         log.info("Materia {} eliminada", id);
     }
 
-    private void validateRequest(MateriaRequest req) {
-        if (req.nombreMateria() == null || req.nombreMateria().isBlank()) {
-            throw new BadRequestException("El campo 'nombreMateria' es obligatorio");
-        }
-        String nombre = req.nombreMateria().trim();
-        if (nombre.length() < 3 || nombre.length() > 100) {
-            throw new BadRequestException("El nombre de la materia debe tener entre 3 y 100 caracteres");
+    // La boleta cacheada de cada alumno inscrito pierde la materia y cambia de promedio
+    private void evictBoletas(Set<UUID> alumnoIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.BOLETA);
+        if (cache == null || alumnoIds.isEmpty()) {
+            return;
         }
+        alumnoRepo.findByIdAlumnoIn(alumnoIds).forEach(a -> cache.evict(a.getAuth0Id()));
+    }
+
+    void validateRequest(MateriaRequest req) {
+        RULES.validate(req);
     }
 }
\ No newline at end of file
@@ -0,0 +1,415 @@
+package com.carlospuente.fullstackauth.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria para buscar personas por nombres y apellidos, por prefijo
+ * y tolerando errores de tecleo.
+ * <p>
+ * Cada palabra se normaliza (minúsculas, sin acentos) y se parte en trigramas
+ * con dos caracteres de relleno al inicio: "ana" aporta {@code "  a"},
+ * {@code " an"} y {@code "ana"}. Así una palabra de la búsqueda que es prefijo
+ * de otra comparte todos sus trigramas con ella. Una palabra coincide si le
+ * faltan pocos trigramas (ninguno con menos de 4 letras, uno o más en palabras
+ * largas) y un registro aparece solo si coinciden todas las palabras.
+ * <p>
+ * Las lecturas comparten un candado de lectura; las altas, cambios y bajas son
+ * raras y toman el de escritura.
+ */
+final class NameSearchIndex<R> {
+
+    private static final char PAD = ' ';
+    // Por debajo de 1/8 del índice en candidatos se revisan uno a uno
+    private static final int SPARSE_RATIO = 8;
+
+    // gramIds: ids de los trigramas, ordenados, para revisar un candidato con
+    // búsqueda binaria sobre un solo arreglo
+    private record Entry<R>(String sortKey, Set<String> grams, int[] gramIds, R value) {
+    }
+
+    private record Match<R>(Entry<R> entry, int score) {
+    }
+
+    // Más trigramas primero; a igual puntaje, por apellidos y nombres
+    private static final Comparator<Match<?>> BEST_FIRST = Comparator.<Match<?>>comparingInt(Match::score)
+            .reversed()
+            .thenComparing(m -> m.entry().sortKey());
+
+    // Cada registro ocupa una posición densa (reutilizada al borrar), así las
+    // listas de trigramas guardan un int y no un UUID
+    private final List<Entry<R>> slots = new ArrayList<>();
+    private final IntList freeSlots = new IntList();
+    private final Map<UUID, Integer> slotById = new HashMap<>();
+    private final Map<String, IntList> postings = new HashMap<>();
+    // Id por trigrama; no se liberan al borrar (son pocos: los de los nombres)
+    private final Map<String, Integer> gramIds = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void put(UUID id, String nombres, String apellidos, R value) {
+        Set<String> grams = new HashSet<>();
+        for (String token : tokens(nombres + " " + apellidos)) {
+            grams.addAll(grams(token));
+        }
+        String sortKey = normalize(apellidos + " " + nombres);
+        lock.writeLock().lock();
+        try {
+            int[] ids = new int[grams.size()];
+            int n = 0;
+            for (String g : grams) {
+                ids[n++] = gramIds.computeIfAbsent(g, k -> gramIds.size());
+            }
+            Arrays.sort(ids);
+            Entry<R> entry = new Entry<>(sortKey, grams, ids, value);
+            removeLocked(id);
+            int slot;
+            if (freeSlots.size > 0) {
+                slot = freeSlots.data[--freeSlots.size];
+                slots.set(slot, entry);
+            } else {
+                slot = slots.size();
+                slots.add(entry);
+            }
+            slotById.put(id, slot);
+            for (String g : grams) {
+                postings.computeIfAbsent(g, k -> new IntList()).add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Igual que {@link #put}, pero hasta el commit si hay una transacción en curso. */
+    void putAfterCommit(UUID id, String nombres, String apellidos, R value) {
+        afterCommit(() -> put(id, nombres, apellidos, value));
+    }
+
+    /** Igual que {@link #remove}, pero hasta el commit si hay una transacción en curso. */
+    void removeAfterCommit(UUID id) {
+        afterCommit(() -> remove(id));
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Hasta {@code limit} registros, primero los que comparten más trigramas. */
+    List<R> search(String query, int limit) {
+        List<Set<String>> queryGrams = new ArrayList<>();
+        for (String token : tokens(query)) {
+            queryGrams.add(grams(token));
+        }
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // A una palabra de k trigramas le pueden faltar a lo sumo m, así que todo
+            // registro que coincide está en alguna de sus m + 1 listas más cortas
+            IntList[] seeds = null;
+            int expected = Integer.MAX_VALUE;
+            for (Set<String> grams : queryGrams) {
+                IntList[] rarest = rarest(grams);
+                int total = 0;
+                for (IntList docs : rarest) {
+                    total += docs.size;
+                }
+                if (total < expected) {
+                    seeds = rarest;
+                    expected = total;
+                }
+            }
+
+            // Los mejores limit con un montículo que descarta el peor
+            PriorityQueue<Match<R>> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+            if ((long) expected * SPARSE_RATIO < slots.size()) {
+                verify(seeds, expected, queryGrams, top, limit);
+            } else {
+                count(queryGrams, top, limit);
+            }
+            List<Match<R>> best = new ArrayList<>(top);
+            best.sort(BEST_FIRST);
+            List<R> result = new ArrayList<>(best.size());
+            for (Match<R> m : best) {
+                result.add(m.entry().value());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pocos candidatos: se revisan uno a uno contra sus trigramas. El costo
+     * sigue a las listas de {@code seeds} y no al tamaño del índice.
+     */
+    private void verify(IntList[] seeds, int expected, List<Set<String>> queryGrams,
+                        PriorityQueue<Match<R>> top, int limit) {
+        int[][] queryIds = new int[queryGrams.size()][];
+        for (int w = 0; w < queryIds.length; w++) {
+            // -1: trigrama que ningún registro tiene
+            queryIds[w] = queryGrams.get(w).stream().mapToInt(g -> gramIds.getOrDefault(g, -1)).toArray();
+        }
+        IntSet seen = new IntSet(expected);
+        for (IntList docs : seeds) {
+            for (int i = 0; i < docs.size; i++) {
+                int slot = docs.data[i];
+                if (seen.add(slot)) {
+                    Entry<R> entry = slots.get(slot);
+                    offer(top, limit, entry, score(entry.gramIds(), queryIds));
+                }
+            }
+        }
+    }
+
+    /**
+     * Muchos candidatos (una fracción del índice de al menos 1/{@value #SPARSE_RATIO}):
+     * contar sobre las listas en un arreglo por posición es más rápido que
+     * revisar cada registro, y llenarlo cuesta lo mismo que recorrer esas listas.
+     */
+    private void count(List<Set<String>> queryGrams, PriorityQueue<Match<R>> top, int limit) {
+        int words = queryGrams.size();
+        // hits[slot * words + w]: trigramas de la palabra w encontrados en el registro
+        int[] hits = new int[slots.size() * words];
+        IntList candidates = new IntList();
+        for (int w = 0; w < words; w++) {
+            for (String g : queryGrams.get(w)) {
+                IntList docs = postings.get(g);
+                if (docs == null) {
+                    continue;
+                }
+                for (int i = 0; i < docs.size; i++) {
+                    int base = docs.data[i] * words;
+                    if (w == 0) {
+                        if (hits[base]++ == 0) {
+                            candidates.add(docs.data[i]);
+                        }
+                    } else if (hits[base] > 0) {
+                        // Un registro debe coincidir en todas las palabras, así que
+                        // los candidatos salen solo de la primera
+                        hits[base + w]++;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < candidates.size; i++) {
+            int slot = candidates.data[i];
+            offer(top, limit, slots.get(slot), score(hits, slot * words, queryGrams));
+        }
+    }
+
+    private static <R> void offer(PriorityQueue<Match<R>> top, int limit, Entry<R> entry, int score) {
+        if (score > 0) {
+            top.offer(new Match<>(entry, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+    }
+
+    /** Total de trigramas encontrados, o 0 si alguna palabra no alcanza el mínimo. */
+    private static int score(int[] hits, int base, List<Set<String>> queryGrams) {
+        int score = 0;
+        for (int w = 0; w < queryGrams.size(); w++) {
+            int grams = queryGrams.get(w).size();
+            int found = hits[base + w];
+            if (found < grams - allowedMisses(grams)) {
+                return 0;
+            }
+            score += found;
+        }
+        return score;
+    }
+
+    /** Igual, buscando los trigramas de la búsqueda entre los del registro. */
+    private static int score(int[] entryIds, int[][] queryIds) {
+        int score = 0;
+        for (int[] ids : queryIds) {
+            int found = 0;
+            for (int id : ids) {
+                if (id >= 0 && Arrays.binarySearch(entryIds, id) >= 0) {
+                    found++;
+                }
+            }
+            if (found < ids.length - allowedMisses(ids.length)) {
+                return 0;
+            }
+            score += found;
+        }
+        return score;
+    }
+
+    /** Las {@code allowedMisses + 1} listas más cortas de los trigramas de una palabra. */
+    private IntList[] rarest(Set<String> grams) {
+        IntList[] lists = new IntList[grams.size()];
+        int n = 0;
+        for (String g : grams) {
+            lists[n++] = postings.getOrDefault(g, IntList.EMPTY);
+        }
+        Arrays.sort(lists, Comparator.comparingInt(docs -> docs.size));
+        return Arrays.copyOf(lists, allowedMisses(grams.size()) + 1);
+    }
+
+    /**
+     * Trigramas que pueden faltar según el largo de la palabra buscada (con el
+     * relleno, una palabra de n letras tiene n trigramas). Una letra cambiada
+     * al final quita uno y en medio hasta tres.
+     */
+    private static int allowedMisses(int grams) {
+        if (grams < 4) {
+            return 0;
+        }
+        if (grams < 6) {
+            return 1;
+        }
+        return grams < 9 ? 2 : 3;
+    }
+
+    private void removeLocked(UUID id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (String g : slots.get(slot).grams()) {
+            IntList docs = postings.get(g);
+            if (docs != null) {
+                docs.remove(slot);
+                if (docs.size == 0) {
+                    postings.remove(g);
+                }
+            }
+        }
+        slots.set(slot, null);
+        freeSlots.add(slot);
+    }
+
+    private static Set<String> grams(String token) {
+        String padded = "" + PAD + PAD + token;
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String t : normalize(text).split("[^\\p{L}\\p{N}]+")) {
+            if (!t.isEmpty()) {
+                tokens.add(t);
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /** Conjunto de int sin boxing (direccionamiento abierto) para no evaluar dos veces un candidato. */
+    private static final class IntSet {
+
+        private final int[] keys;
+        private final int mask;
+
+        IntSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+            keys = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        /** {@code false} si ya estaba. */
+        boolean add(int value) {
+            int h = value * 0x9E3779B9;
+            int i = (h ^ h >>> 16) & mask;
+            while (keys[i] != 0) {
+                if (keys[i] == value + 1) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = value + 1;
+            return true;
+        }
+    }
+
+    /** Lista de int sin boxing; el orden no importa, así que quitar es cambiar por el último. */
+    private static final class IntList {
+
+        // Lista de un trigrama que no aparece en el índice; nunca se modifica
+        static final IntList EMPTY = new IntList();
+
+        int[] data = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (data[i] == value) {
+                    data[i] = data[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.carlospuente.fullstackauth.service;
+
+import com.carlospuente.fullstackauth.exception.BadRequestException;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Reglas de validación de un request, declaradas una sola vez por servicio.
+ * <p>
+ * {@link #validate} recorre todas las reglas en una pasada y, si alguna falla,
+ * lanza un {@link BadRequestException} con todas las violaciones juntas.
+ * Las reglas se arman al construir el validador, así que un request válido
+ * no asigna memoria. Las reglas de longitud, formato o rango aceptan null:
+ * la falta del campo la reporta su propia regla de obligatorio.
+ */
+final class RequestValidator<T> {
+
+    private final Predicate<T>[] checks;
+    private final String[] messages;
+
+    private RequestValidator(List<Predicate<T>> checks, List<String> messages) {
+        // Arreglo y no List: validate() es la ruta caliente de cada escritura
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Predicate<T>[] array = checks.toArray(new Predicate[0]);
+        this.checks = array;
+        this.messages = messages.toArray(new String[0]);
+    }
+
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    void validate(T request) {
+        List<String> violations = null;
+        for (int i = 0; i < checks.length; i++) {
+            if (!checks[i].test(request)) {
+                if (violations == null) {
+                    violations = new ArrayList<>(checks.length - i);
+                }
+                violations.add(messages[i]);
+            }
+        }
+        if (violations != null) {
+            throw new BadRequestException(violations);
+        }
+    }
+
+    static final class Builder<T> {
+
+        private final List<Predicate<T>> checks = new ArrayList<>();
+        private final List<String> messages = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        Builder<T> rule(Predicate<T> check, String message) {
+            checks.add(check);
+            messages.add(message);
+            return this;
+        }
+
+        Builder<T> required(Function<T, ?> field, String message) {
+            return rule(r -> field.apply(r) != null, message);
+        }
+
+        Builder<T> notBlank(Function<T, String> field, String message) {
+            return rule(r -> {
+                String v = field.apply(r);
+                return v != null && !v.isBlank();
+            }, message);
+        }
+
+        Builder<T> maxLength(Function<T, String> field, int max, String message) {
+            return rule(r -> {
+                String v = field.apply(r);
+                return v == null || v.length() <= max;
+            }, message);
+        }
+
+        /** Longitud sin contar espacios al inicio o al final, como {@link String#trim()}. */
+        Builder<T> trimmedLength(Function<T, String> field, int min, int max, String message) {
+            return rule(r -> {
+                String v = field.apply(r);
+                if (v == null || v.isBlank()) {
+                    return true;
+                }
+                int len = strippedLength(v);
+                return len >= min && len <= max;
+            }, message);
+        }
+
+        /** Formato validado sin expresiones regulares para no crear un Matcher por llamada. */
+        Builder<T> format(Function<T, String> field, Predicate<String> format, String message) {
+            return rule(r -> {
+                String v = field.apply(r);
+                return v == null || v.isBlank() || format.test(v);
+            }, message);
+        }
+
+        Builder<T> range(Function<T, Double> field, double min, double max, String message) {
+            return rule(r -> {
+                Double v = field.apply(r);
+                return v == null || (v >= min && v <= max);
+            }, message);
+        }
+
+        Builder<T> notFuture(Function<T, LocalDate> field, String message) {
+            return rule(r -> {
+                LocalDate v = field.apply(r);
+                return v == null || !v.isAfter(Today.get());
+            }, message);
+        }
+
+        RequestValidator<T> build() {
+            return new RequestValidator<>(checks, messages);
+        }
+    }
+
+    private static int strippedLength(String s) {
+        int start = 0;
+        int end = s.length();
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end - start;
+    }
+
+    /**
+     * Fecha de hoy recalculada solo al pasar la medianoche, para no crear un
+     * {@link LocalDate} en cada validación.
+     */
+    static final class Today {
+
+        private record Day(LocalDate date, long nextMidnightMillis) {
+        }
+
+        private static volatile Day current = compute();
+
+        private Today() {
+        }
+
+        static LocalDate get() {
+            Day day = current;
+            if (System.currentTimeMillis() >= day.nextMidnightMillis()) {
+                day = compute();
+                current = day;
+            }
+            return day.date();
+        }
+
+        private static Day compute() {
+            ZoneId zone = ZoneId.systemDefault();
+            LocalDate date = LocalDate.now(zone);
+            return new Day(date, date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+    }
+}
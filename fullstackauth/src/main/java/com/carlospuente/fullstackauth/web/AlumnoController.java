@@ -1,10 +1,10 @@
 package com.carlospuente.fullstackauth.web;
 
-import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoImportResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoPerfilResponse;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoRequest;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoResponse;
 import com.carlospuente.fullstackauth.service.AlumnoService;
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -13,11 +13,17 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
-@RequestMapping(path = "/api/alumnos", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(path = "/api/alumnos", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 @RequiredArgsConstructor
 public class AlumnoController {
 
@@ -25,39 +31,76 @@ public class AlumnoController {
 
     @GetMapping("/me")
     @PreAuthorize("hasAuthority('READ:ALUMNOS')")
-    public ResponseEntity<AlumnoResponse> getMe(@AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<AlumnoPerfilResponse> getMe(@AuthenticationPrincipal Jwt jwt) {
         String auth0Id = jwt.getSubject();
         return ResponseEntity.ok(alumnoService.getMe(auth0Id));
     }
 
     @GetMapping
     @PreAuthorize("hasAuthority('READ:ALUMNOS')")
-    public ResponseEntity<List<AlumnoResponse>> getAll() {
-        return ResponseEntity.ok(alumnoService.listAll());
+    public ResponseEntity<? extends List<?>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
+    ) {
+        if (fields != null) {
+            return ConditionalResponses.ok(webRequest, alumnoService.listVersion(),
+                    () -> PageResponses.ok(alumnoService.listAll(cursor, size, fields)));
+        }
+        return ConditionalResponses.ok(webRequest, alumnoService.listVersion(),
+                () -> PageResponses.ok(alumnoService.listAll(cursor, size)));
+    }
+
+    // Búsqueda por nombres y apellidos (prefijos y errores de tecleo)
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('READ:ALUMNOS')")
+    public ResponseEntity<List<AlumnoResponse>> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(alumnoService.search(q, size));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('READ:ALUMNOS')")
-    public ResponseEntity<AlumnoResponse> getById(@PathVariable UUID id) {
-        return ResponseEntity.ok(alumnoService.getById(id));
+    public ResponseEntity<?> getById(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
+    ) {
+        if (fields != null) {
+            return ConditionalResponses.ok(webRequest, alumnoService.version(id),
+                    () -> ResponseEntity.ok(alumnoService.getById(id, fields)));
+        }
+        return ConditionalResponses.ok(webRequest, alumnoService.version(id),
+                () -> ResponseEntity.ok(alumnoService.getById(id)));
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAuthority('WRITE:ALUMNOS')")
     public ResponseEntity<AlumnoResponse> create(
             @AuthenticationPrincipal Jwt jwt,
-            @Valid @RequestBody AlumnoRequest request
+            @RequestBody AlumnoRequest request
     ) {
         String auth0Id = jwt.getSubject();
         var created = alumnoService.create(request, auth0Id);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    // Alta masiva desde CSV (UTF-8, con encabezado); se lee del cuerpo en streaming
+    @PostMapping(path = "/import", consumes = "text/csv")
+    @PreAuthorize("hasAuthority('WRITE:ALUMNOS')")
+    public ResponseEntity<AlumnoImportResponse> importCsv(InputStream body) {
+        var csv = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(alumnoService.importCsv(csv));
+    }
+
     @PutMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAuthority('WRITE:ALUMNOS')")
     public ResponseEntity<AlumnoResponse> update(
             @PathVariable UUID id,
-            @Valid @RequestBody AlumnoRequest request
+            @RequestBody AlumnoRequest request
     ) {
         return ResponseEntity.ok(alumnoService.update(id, request));
     }
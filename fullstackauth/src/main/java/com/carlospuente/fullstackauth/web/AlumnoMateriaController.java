@@ -1,9 +1,13 @@
 package com.carlospuente.fullstackauth.web;
 
-import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaBoletaResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaBatchRequest;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaBatchResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaExportRow;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaRequest;
 import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaResponse;
+import com.carlospuente.fullstackauth.domain.dto.BoletaResponse;
 import com.carlospuente.fullstackauth.service.AlumnoMateriaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -13,26 +17,47 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
-@RequestMapping(path = "/api/alumno-materias", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(path = "/api/alumno-materias", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 @RequiredArgsConstructor
 public class AlumnoMateriaController {
 
     private final AlumnoMateriaService servicio;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @PreAuthorize("hasAuthority('READ:ALUMNO_MATERIAS')")
-    public ResponseEntity<List<AlumnoMateriaResponse>> getAll() {
-        return ResponseEntity.ok(servicio.listAll());
+    public ResponseEntity<? extends List<?>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields
+    ) {
+        if (fields != null) {
+            return PageResponses.ok(servicio.listAll(cursor, size, fields));
+        }
+        return PageResponses.ok(servicio.listAll(cursor, size));
     }
 
 
+    // Todas las inscripciones (o las de un ciclo) como NDJSON o CSV, en streaming
+    @GetMapping(path = "/export", produces = MediaType.ALL_VALUE)
+    @PreAuthorize("hasAuthority('READ:ALUMNO_MATERIAS')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String ciclo,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        String filename = "inscripciones" + (ciclo != null ? "-" + ciclo : "");
+        return ExportResponses.ok(format, filename, AlumnoMateriaExportRow.class, objectMapper,
+                sink -> servicio.export(ciclo, sink));
+    }
+
     @GetMapping("/me/boleta")
     @PreAuthorize("hasAuthority('READ:ALUMNO_MATERIAS')")
-    public ResponseEntity<List<AlumnoMateriaBoletaResponse>> getMyBoleta(@AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<BoletaResponse> getMyBoleta(@AuthenticationPrincipal Jwt jwt) {
         String auth0Id = jwt.getSubject();
         var boleta = servicio.listByAlumnoAuth0Id(auth0Id);
         return ResponseEntity.ok(boleta);
@@ -40,24 +65,38 @@ public class AlumnoMateriaController {
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('READ:ALUMNO_MATERIAS')")
-    public ResponseEntity<AlumnoMateriaResponse> getById(@PathVariable UUID id) {
+    public ResponseEntity<?> getById(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String fields
+    ) {
+        if (fields != null) {
+            return ResponseEntity.ok(servicio.getById(id, fields));
+        }
         return ResponseEntity.ok(servicio.getById(id));
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAuthority('WRITE:ALUMNO_MATERIAS')")
     public ResponseEntity<AlumnoMateriaResponse> create(
-            @Valid @RequestBody AlumnoMateriaRequest request
+            @RequestBody AlumnoMateriaRequest request
     ) {
         var created = servicio.create(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('WRITE:ALUMNO_MATERIAS')")
+    public ResponseEntity<AlumnoMateriaBatchResponse> createBatch(
+            @Valid @RequestBody AlumnoMateriaBatchRequest request
+    ) {
+        return ResponseEntity.ok(servicio.createBatch(request.items()));
+    }
+
     @PutMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAuthority('WRITE:ALUMNO_MATERIAS')")
     public ResponseEntity<AlumnoMateriaResponse> update(
             @PathVariable UUID id,
-            @Valid @RequestBody AlumnoMateriaRequest request
+            @RequestBody AlumnoMateriaRequest request
     ) {
         return ResponseEntity.ok(servicio.update(id, request));
     }
@@ -0,0 +1,54 @@
+package com.carlospuente.fullstackauth.web;
+
+import com.carlospuente.fullstackauth.domain.dto.CacheStatsResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@RestController
+@RequestMapping(path = "/api/cache", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final CacheManager cacheManager;
+    private final javax.cache.CacheManager hibernateCacheManager;
+
+    @PreAuthorize("hasAuthority('READ:CACHE_STATS')")
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsResponse>> stats() {
+        List<CacheStatsResponse> stats = new ArrayList<>(cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .filter(c -> c.getNativeCache() instanceof Cache<?, ?>)
+                .map(c -> toResponse(c.getName(), (Cache<?, ?>) c.getNativeCache()))
+                .toList());
+        // Regiones de la cache de segundo nivel de Hibernate, con prefijo "l2:"
+        for (String region : hibernateCacheManager.getCacheNames()) {
+            stats.add(toResponse("l2:" + region, hibernateCacheManager.getCache(region).unwrap(Cache.class)));
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    private static CacheStatsResponse toResponse(String name, Cache<?, ?> cache) {
+        CacheStats s = cache.stats();
+        return new CacheStatsResponse(
+                name,
+                cache.estimatedSize(),
+                s.hitCount(),
+                s.missCount(),
+                s.hitRate(),
+                s.evictionCount()
+        );
+    }
+}
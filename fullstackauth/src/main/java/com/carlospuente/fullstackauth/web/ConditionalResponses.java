@@ -0,0 +1,57 @@
+package com.carlospuente.fullstackauth.web;
+
+import com.carlospuente.fullstackauth.domain.dto.DataVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+
+/**
+ * GET condicionales con ETag débil derivado de {@link DataVersion}.
+ * <p>
+ * La versión se consulta antes que los datos: si coincide con
+ * {@code If-None-Match} se responde 304 sin ejecutar la consulta completa
+ * ni serializar el cuerpo. Si no hay versión (sin filas) la respuesta sale
+ * tal cual, p. ej. el 404 de un ID inexistente.
+ * <p>
+ * El ETag es el mismo en JSON y en CBOR (débil: mismo contenido, otra
+ * codificación); {@code Vary: Accept} evita que una cache entregue un
+ * formato a quien pidió el otro.
+ */
+final class ConditionalResponses {
+
+    // El navegador guarda la respuesta, pero la revalida en cada uso;
+    // además evita el "no-store" que Spring Security pone por defecto
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> ok(WebRequest request, DataVersion version, Supplier<ResponseEntity<T>> response) {
+        if (version.lastModified() == null) {
+            return response.get();
+        }
+        String etag = etag(version);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        ResponseEntity<T> r = response.get();
+        return ResponseEntity.status(r.getStatusCode())
+                .headers(r.getHeaders())
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(r.getBody());
+    }
+
+    static String etag(DataVersion version) {
+        var t = version.lastModified();
+        long micros = t.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + t.getNano() / 1_000;
+        return "W/\"" + version.rows() + "-" + Long.toHexString(micros) + "\"";
+    }
+}
@@ -3,19 +3,19 @@ package com.carlospuente.fullstackauth.web;
 import com.carlospuente.fullstackauth.domain.dto.DocenteRequest;
 import com.carlospuente.fullstackauth.domain.dto.DocenteResponse;
 import com.carlospuente.fullstackauth.service.DocenteService;
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
 
 @RestController
-@RequestMapping(path = "/api/docentes", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(path = "/api/docentes", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 @RequiredArgsConstructor
 public class DocenteController {
 
@@ -23,20 +23,49 @@ public class DocenteController {
 
     @GetMapping
     @PreAuthorize("hasAuthority('READ:DOCENTES')")
-    public ResponseEntity<List<DocenteResponse>> getAll() {
-        return ResponseEntity.ok(docenteService.listAll());
+    public ResponseEntity<? extends List<?>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
+    ) {
+        if (fields != null) {
+            return ConditionalResponses.ok(webRequest, docenteService.listVersion(),
+                    () -> PageResponses.ok(docenteService.listAll(cursor, size, fields)));
+        }
+        return ConditionalResponses.ok(webRequest, docenteService.listVersion(),
+                () -> PageResponses.ok(docenteService.listAll(cursor, size)));
+    }
+
+    // Búsqueda por nombres y apellidos (prefijos y errores de tecleo)
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('READ:DOCENTES')")
+    public ResponseEntity<List<DocenteResponse>> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(docenteService.search(q, size));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('READ:DOCENTES')")
-    public ResponseEntity<DocenteResponse> getById(@PathVariable UUID id) {
-        return ResponseEntity.ok(docenteService.getById(id));
+    public ResponseEntity<?> getById(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
+    ) {
+        if (fields != null) {
+            return ConditionalResponses.ok(webRequest, docenteService.version(id),
+                    () -> ResponseEntity.ok(docenteService.getById(id, fields)));
+        }
+        return ConditionalResponses.ok(webRequest, docenteService.version(id),
+                () -> ResponseEntity.ok(docenteService.getById(id)));
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAuthority('WRITE:DOCENTES')")
     public ResponseEntity<DocenteResponse> create(
-            @Valid @RequestBody DocenteRequest request
+            @RequestBody DocenteRequest request
     ) {
         var created = docenteService.create(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
@@ -46,7 +75,7 @@ public class DocenteController {
     @PreAuthorize("hasAuthority('WRITE:DOCENTES')")
     public ResponseEntity<DocenteResponse> update(
             @PathVariable UUID id,
-            @Valid @RequestBody DocenteRequest request
+            @RequestBody DocenteRequest request
     ) {
         return ResponseEntity.ok(docenteService.update(id, request));
     }
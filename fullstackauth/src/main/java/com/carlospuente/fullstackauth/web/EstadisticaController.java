@@ -0,0 +1,42 @@
+package com.carlospuente.fullstackauth.web;
+
+import com.carlospuente.fullstackauth.domain.dto.EstadisticaMateriaCicloResponse;
+import com.carlospuente.fullstackauth.domain.dto.EstadisticasRebuildResponse;
+import com.carlospuente.fullstackauth.service.EstadisticaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(path = "/api/estadisticas", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+@RequiredArgsConstructor
+public class EstadisticaController {
+
+    private final EstadisticaService servicio;
+
+    @GetMapping("/materias/{materiaId}")
+    @PreAuthorize("hasAuthority('READ:ALUMNO_MATERIAS')")
+    public ResponseEntity<List<EstadisticaMateriaCicloResponse>> getByMateria(@PathVariable UUID materiaId) {
+        return ResponseEntity.ok(servicio.listByMateria(materiaId));
+    }
+
+    @GetMapping("/materias/{materiaId}/ciclos/{ciclo}")
+    @PreAuthorize("hasAuthority('READ:ALUMNO_MATERIAS')")
+    public ResponseEntity<EstadisticaMateriaCicloResponse> getByMateriaAndCiclo(
+            @PathVariable UUID materiaId,
+            @PathVariable String ciclo
+    ) {
+        return ResponseEntity.ok(servicio.get(materiaId, ciclo));
+    }
+
+    // Reparación: recalcula todo desde alumno_materias
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasAuthority('WRITE:ALUMNO_MATERIAS')")
+    public ResponseEntity<EstadisticasRebuildResponse> rebuild() {
+        return ResponseEntity.ok(servicio.rebuild());
+    }
+}
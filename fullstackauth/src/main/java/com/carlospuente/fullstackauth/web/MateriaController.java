@@ -3,19 +3,19 @@ package com.carlospuente.fullstackauth.web;
 import com.carlospuente.fullstackauth.domain.dto.MateriaRequest;
 import com.carlospuente.fullstackauth.domain.dto.MateriaResponse;
 import com.carlospuente.fullstackauth.service.MateriaService;
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
 
 @RestController
-@RequestMapping(path = "/api/materias", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequestMapping(path = "/api/materias", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
 @RequiredArgsConstructor
 public class MateriaController {
 
@@ -23,20 +23,39 @@ public class MateriaController {
 
     @GetMapping
     @PreAuthorize("hasAuthority('READ:MATERIAS')")
-    public ResponseEntity<List<MateriaResponse>> getAll() {
-        return ResponseEntity.ok(materiaService.listAll());
+    public ResponseEntity<? extends List<?>> getAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
+    ) {
+        if (fields != null) {
+            return ConditionalResponses.ok(webRequest, materiaService.listVersion(),
+                    () -> PageResponses.ok(materiaService.listAll(cursor, size, fields)));
+        }
+        return ConditionalResponses.ok(webRequest, materiaService.listVersion(),
+                () -> PageResponses.ok(materiaService.listAll(cursor, size)));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('READ:MATERIAS')")
-    public ResponseEntity<MateriaResponse> getById(@PathVariable UUID id) {
-        return ResponseEntity.ok(materiaService.getById(id));
+    public ResponseEntity<?> getById(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest
+    ) {
+        if (fields != null) {
+            return ConditionalResponses.ok(webRequest, materiaService.version(id),
+                    () -> ResponseEntity.ok(materiaService.getById(id, fields)));
+        }
+        return ConditionalResponses.ok(webRequest, materiaService.version(id),
+                () -> ResponseEntity.ok(materiaService.getById(id)));
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAuthority('WRITE:MATERIAS')")
     public ResponseEntity<MateriaResponse> create(
-            @Valid @RequestBody MateriaRequest request
+            @RequestBody MateriaRequest request
     ) {
         var created = materiaService.create(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
@@ -46,7 +65,7 @@ public class MateriaController {
     @PreAuthorize("hasAuthority('WRITE:MATERIAS')")
     public ResponseEntity<MateriaResponse> update(
             @PathVariable UUID id,
-            @Valid @RequestBody MateriaRequest request
+            @RequestBody MateriaRequest request
     ) {
         return ResponseEntity.ok(materiaService.update(id, request));
     }
@@ -0,0 +1,27 @@
+package com.carlospuente.fullstackauth.web;
+
+import com.carlospuente.fullstackauth.domain.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * El cuerpo de los listados sigue siendo un arreglo JSON; el cursor de la
+ * página siguiente viaja en la cabecera {@value #NEXT_CURSOR_HEADER}
+ * (ausente en la última página).
+ */
+final class PageResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PageResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        var builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return builder.body(page.items());
+    }
+}
@@ -0,0 +1,158 @@
+package com.carlospuente.fullstackauth.config;
+
+import com.carlospuente.fullstackauth.domain.dto.MateriaRequest;
+import com.carlospuente.fullstackauth.domain.dto.MateriaResponse;
+import com.carlospuente.fullstackauth.exception.ResourceNotFoundException;
+import com.carlospuente.fullstackauth.service.MateriaService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Dos bases H2 independientes hacen de primario y réplica. No hay replicación
+ * entre ellas, así que se distingue qué base atendió cada lectura por sus datos.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+        "app.datasource.replicas[0].url=" + ReadReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.read-your-writes.window=1m",
+        // La cache L2 respondería sin consultar ninguna de las dos bases; la de
+        // consultas la apaga ReplicaDataSourceConfig
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:DB_PRIMARY;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:DB_REPLICA;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static boolean replicaReady;
+
+    @Autowired
+    MateriaService materias;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (!replicaReady) {
+            copySchemaToReplica();
+            replicaReady = true;
+        }
+        newRequest();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+        for (String url : new String[]{PRIMARY_URL, REPLICA_URL}) {
+            try (Connection c = DriverManager.getConnection(url, "sa", "");
+                 Statement st = c.createStatement()) {
+                st.execute("DELETE FROM materias");
+            }
+        }
+    }
+
+    @Test
+    void queryCacheIsOffWithReplicas() {
+        assertThat(emf.unwrap(SessionFactoryImplementor.class).getSessionFactoryOptions().isQueryCacheEnabled())
+                .isFalse();
+    }
+
+    @Test
+    void readOnlyTransactionsAreServedByTheReplica() throws SQLException {
+        UUID soloEnReplica = insertIntoReplica("Solo en réplica");
+
+        var page = materias.listAll(null, null);
+
+        assertThat(page.items()).extracting(MateriaResponse::idMateria).containsExactly(soloEnReplica);
+    }
+
+    @Test
+    void writesGoToThePrimaryAndLaterRequestsReadTheReplica() {
+        MateriaResponse creada = materias.create(new MateriaRequest("Física"));
+
+        newRequest();
+        assertThatThrownBy(() -> materias.getById(creada.idMateria()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void requestThatWroteReadsItsOwnWrite() {
+        MateriaResponse creada = materias.create(new MateriaRequest("Química"));
+
+        assertThat(materias.getById(creada.idMateria()).nombreMateria()).isEqualTo("Química");
+    }
+
+    @Test
+    void principalThatWroteReadsFromThePrimaryDuringTheWindow() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("ana@instituto.mx", null, "WRITE:MATERIAS"));
+        MateriaResponse creada = materias.create(new MateriaRequest("Biología"));
+
+        newRequest();
+        assertThat(materias.getById(creada.idMateria()).nombreMateria()).isEqualTo("Biología");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("otro@instituto.mx", null, "READ:MATERIAS"));
+        assertThatThrownBy(() -> materias.getById(creada.idMateria()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static void newRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private static void copySchemaToReplica() throws Exception {
+        Path script = Files.createTempFile("schema", ".sql");
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement st = primary.createStatement()) {
+            st.execute("SCRIPT NODATA TO '" + script + "'");
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement st = replica.createStatement()) {
+            st.execute("RUNSCRIPT FROM '" + script + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+
+    private static UUID insertIntoReplica(String nombre) throws SQLException {
+        UUID id = UuidV7Generator.next();
+        try (Connection c = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             PreparedStatement ps = c.prepareStatement(
+                     "INSERT INTO materias (id_materia, nombre_materia, created_at) VALUES (?, ?, ?)")) {
+            ps.setObject(1, id);
+            ps.setString(2, nombre);
+            ps.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+            ps.executeUpdate();
+        }
+        return id;
+    }
+}
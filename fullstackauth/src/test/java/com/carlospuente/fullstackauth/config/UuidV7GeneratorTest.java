@@ -0,0 +1,56 @@
+package com.carlospuente.fullstackauth.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void layoutFollowsRfc9562() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        // Bits de variante 10
+        assertThat(id.getLeastSignificantBits() >>> 62).isEqualTo(0b10);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after);
+    }
+
+    @Test
+    void backToBackIdsGrowInBinaryOrder() {
+        byte[] previous = bytes(UuidV7Generator.next());
+        for (int i = 0; i < 10_000; i++) {
+            byte[] current = bytes(UuidV7Generator.next());
+            // Mismo orden que BINARY(16) en MySQL: bytes sin signo
+            assertThat(Arrays.compareUnsigned(current, previous)).isPositive();
+            previous = current;
+        }
+    }
+
+    @Test
+    void sameMillisecondOrBackwardClockStillGrows() {
+        long now = System.currentTimeMillis();
+        UUID first = UuidV7Generator.next(now);
+        UUID second = UuidV7Generator.next(now);
+        UUID third = UuidV7Generator.next(now - 5);
+
+        assertThat(Arrays.compareUnsigned(bytes(second), bytes(first))).isPositive();
+        assertThat(Arrays.compareUnsigned(bytes(third), bytes(second))).isPositive();
+        assertThat(third.version()).isEqualTo(7);
+        assertThat(third.variant()).isEqualTo(2);
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
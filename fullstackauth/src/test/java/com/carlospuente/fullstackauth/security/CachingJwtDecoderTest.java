@@ -0,0 +1,71 @@
+package com.carlospuente.fullstackauth.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingJwtDecoderTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void sameTokenIsVerifiedOnce() {
+        var decoder = decoder(token -> jwt(token, Instant.now().plusSeconds(300)));
+
+        Jwt first = decoder.decode("a.b.c");
+        Jwt second = decoder.decode("a.b.c");
+
+        assertThat(second).isSameAs(first);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void tokensWithoutFutureExpirationAreNotKept() {
+        var decoder = decoder(token -> jwt(token, token.startsWith("old") ? Instant.now().minusSeconds(1) : null));
+
+        decoder.decode("old.b.c");
+        decoder.decode("old.b.c");
+        decoder.decode("noexp.b.c");
+        decoder.decode("noexp.b.c");
+
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void invalidTokensAreNotKept() {
+        var decoder = decoder(token -> {
+            throw new BadJwtException("firma inválida");
+        });
+
+        assertThatThrownBy(() -> decoder.decode("x.y.z")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("x.y.z")).isInstanceOf(BadJwtException.class);
+        assertThat(calls).hasValue(2);
+    }
+
+    private CachingJwtDecoder decoder(JwtDecoder delegate) {
+        JwtDecoder counting = token -> {
+            calls.incrementAndGet();
+            return delegate.decode(token);
+        };
+        return new CachingJwtDecoder(counting,
+                CachingJwtDecoder.newCache(100, Duration.ofHours(1), Clock.systemUTC()));
+    }
+
+    private static Jwt jwt(String token, Instant exp) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("auth0|test")
+                .issuedAt(Instant.now().minusSeconds(10))
+                .expiresAt(exp)
+                .build();
+    }
+}
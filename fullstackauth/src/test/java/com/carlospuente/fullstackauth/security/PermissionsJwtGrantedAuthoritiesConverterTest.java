@@ -0,0 +1,47 @@
+package com.carlospuente.fullstackauth.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionsJwtGrantedAuthoritiesConverterTest {
+
+    private final PermissionsJwtGrantedAuthoritiesConverter converter =
+            new PermissionsJwtGrantedAuthoritiesConverter();
+
+    @Test
+    void mapsScopesAndPermissionsToUpperCase() {
+        var authorities = converter.convert(jwt("openid email", List.of("read:alumnos", "write:alumnos")));
+
+        assertThat(authorities).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("OPENID", "EMAIL", "READ:ALUMNOS", "WRITE:ALUMNOS");
+    }
+
+    @Test
+    void sameClaimsShareTheSameCollection() {
+        var first = converter.convert(jwt("openid", List.of("read:materias")));
+        var second = converter.convert(jwt("openid", List.of("read:materias")));
+        var other = converter.convert(jwt("openid", List.of("read:docentes")));
+        var noClaims = converter.convert(jwt(null, null));
+
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(noClaims).isEmpty();
+        assertThat(converter.convert(jwt(null, null))).isSameAs(noClaims);
+    }
+
+    private static Jwt jwt(String scope, List<String> permissions) {
+        var builder = Jwt.withTokenValue("t").header("alg", "RS256").subject("auth0|test");
+        if (scope != null) {
+            builder.claim("scope", scope);
+        }
+        if (permissions != null) {
+            builder.claim("permissions", permissions);
+        }
+        return builder.build();
+    }
+}
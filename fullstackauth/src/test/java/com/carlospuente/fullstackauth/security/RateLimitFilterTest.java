@@ -0,0 +1,204 @@
+package com.carlospuente.fullstackauth.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void burstThenOnePerInterval() {
+        var limiter = new RateLimiter(2, 3, 100, now::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(SECOND / 2);
+        // Otra llave tiene su propio bucket
+        assertThat(limiter.tryAcquire("b")).isZero();
+
+        now.addAndGet(SECOND / 2);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        var limiter = new RateLimiter(1, 50, 100, now::get);
+        var admitted = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (limiter.tryAcquire("a") == 0) {
+                    admitted.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(admitted).hasValue(50);
+    }
+
+    @Test
+    void rejectsWith429AndRetryAfterPerPrincipalAndRoute() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        var filter = filter(new RateLimiter(0.5, 1, 100, now::get), new RateLimiter(100, 100, 100, now::get), registry);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ana", null, "READ"));
+
+        assertThat(call(filter, "/api/alumnos/0190a1b2-c3d4-7e5f-8a9b-0c1d2e3f4a5b").getStatus()).isEqualTo(200);
+        // Otro ID es la misma ruta
+        var rejected = call(filter, "/api/alumnos/0190a1b2-c3d4-7e5f-8a9b-ffffffffffff");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("\"status\":429");
+        assertThat(registry.counter("rate.limit.rejected", "scope", "route", "resource", "/api/alumnos").count())
+                .isEqualTo(1);
+
+        // Otra ruta u otro principal no comparten bucket
+        assertThat(call(filter, "/api/alumnos/search").getStatus()).isEqualTo(200);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("luis", null, "READ"));
+        assertThat(call(filter, "/api/alumnos/0190a1b2-c3d4-7e5f-8a9b-0c1d2e3f4a5b").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void varyingAPathSegmentDoesNotGiveANewBucket() throws Exception {
+        var filter = filter(new RateLimiter(0.5, 1, 100, now::get), new RateLimiter(100, 100, 100, now::get),
+                new SimpleMeterRegistry());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ana", null, "READ"));
+
+        String materia = "/api/estadisticas/materias/0190a1b2-c3d4-7e5f-8a9b-0c1d2e3f4a5b/ciclos/";
+        assertThat(call(filter, materia + "2025-1").getStatus()).isEqualTo(200);
+        assertThat(call(filter, materia + "cualquier-cosa").getStatus()).isEqualTo(429);
+        // Sin controlador: todas comparten una sola llave
+        assertThat(call(filter, "/api/no-existe/1").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "/api/no-existe/2").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void principalBudgetCoversAllItsRoutes() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        var filter = filter(new RateLimiter(100, 100, 100, now::get), new RateLimiter(1, 2, 100, now::get), registry);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ana", null, "READ"));
+
+        assertThat(call(filter, "/api/alumnos/search").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "/api/materias").getStatus()).isEqualTo(200);
+        var rejected = call(filter, "/api/docentes");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(registry.counter("rate.limit.rejected", "scope", "principal", "resource", "/api/docentes").count())
+                .isEqualTo(1);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("luis", null, "READ"));
+        assertThat(call(filter, "/api/docentes").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void routeRejectionDoesNotSpendThePrincipalBudget() throws Exception {
+        var filter = filter(new RateLimiter(0.5, 1, 100, now::get), new RateLimiter(1, 2, 100, now::get),
+                new SimpleMeterRegistry());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ana", null, "READ"));
+
+        assertThat(call(filter, "/api/materias").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "/api/materias").getStatus()).isEqualTo(429);
+        assertThat(call(filter, "/api/materias").getStatus()).isEqualTo(429);
+        // Al principal le queda la segunda ficha de su ráfaga
+        assertThat(call(filter, "/api/docentes").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void jwtWithoutEmailIsLimitedBySub() throws Exception {
+        var filter = filter(new RateLimiter(0.5, 1, 100, now::get), new RateLimiter(100, 100, 100, now::get),
+                new SimpleMeterRegistry());
+        Jwt token = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("auth0|ana")
+                .claim("permissions", List.of("read:alumnos"))
+                .build();
+        // Mismo converter que SecurityConfig: el nombre sale del claim email, que este token no trae
+        var auth = new SecurityConfig().jwtAuthenticationConverter().convert(token);
+        assertThat(auth.getName()).isNull();
+        SecurityContextHolder.getContext().setAuthentication(auth);
+
+        assertThat(call(filter, "/api/materias").getStatus()).isEqualTo(200);
+        assertThat(call(filter, "/api/materias").getStatus()).isEqualTo(429);
+    }
+
+    // Rutas resueltas con un RequestMappingHandlerMapping real sobre RutasDePrueba
+    private static RateLimitFilter filter(RateLimiter perRoute, RateLimiter perPrincipal, SimpleMeterRegistry registry) {
+        var context = new StaticWebApplicationContext();
+        context.registerSingleton("rutas", RutasDePrueba.class);
+        var mapping = new RequestMappingHandlerMapping();
+        mapping.setApplicationContext(context);
+        mapping.afterPropertiesSet();
+        return new RateLimitFilter(perRoute, perPrincipal, RateLimitFilter.routesOf(mapping),
+                new ObjectMapper().registerModule(new JavaTimeModule()), registry);
+    }
+
+    @RestController
+    static class RutasDePrueba {
+
+        @GetMapping({"/api/alumnos", "/api/materias", "/api/docentes"})
+        void list() {
+        }
+
+        @GetMapping("/api/alumnos/search")
+        void search() {
+        }
+
+        @GetMapping("/api/alumnos/{id}")
+        void get(@PathVariable UUID id) {
+        }
+
+        @GetMapping("/api/estadisticas/materias/{materiaId}/ciclos/{ciclo}")
+        void ciclo(@PathVariable UUID materiaId, @PathVariable String ciclo) {
+        }
+    }
+
+    private static MockHttpServletResponse call(RateLimitFilter filter, String path) throws Exception {
+        var req = new MockHttpServletRequest("GET", path);
+        var res = new MockHttpServletResponse();
+        filter.doFilter(req, res, new MockFilterChain());
+        return res;
+    }
+}
@@ -0,0 +1,279 @@
+package com.carlospuente.fullstackauth.service;
+
+import com.carlospuente.fullstackauth.config.CacheConfig;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaRequest;
+import com.carlospuente.fullstackauth.domain.dto.CursorPage;
+import com.carlospuente.fullstackauth.domain.mapper.AlumnoMateriaMapper;
+import com.carlospuente.fullstackauth.domain.model.AlumnoEntity;
+import com.carlospuente.fullstackauth.domain.model.AlumnoMateriaEntity;
+import com.carlospuente.fullstackauth.domain.model.DocenteEntity;
+import com.carlospuente.fullstackauth.domain.model.MateriaEntity;
+import com.carlospuente.fullstackauth.exception.BadRequestException;
+import com.carlospuente.fullstackauth.exception.ConflictException;
+import com.carlospuente.fullstackauth.exception.ResourceNotFoundException;
+import com.carlospuente.fullstackauth.repository.AlumnoMateriaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Regresión del N+1: cada lectura de inscripciones debe ejecutar un número
+ * constante de sentencias sin importar cuántas filas devuelva.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AlumnoMateriaServiceImpl.class, AlumnoMateriaMapper.class, EstadisticaServiceImpl.class, CacheConfig.class})
+class AlumnoMateriaStatementCountTest {
+
+    private static final String AUTH0_ID = "auth0|alumno-prueba";
+
+    @Autowired
+    private AlumnoMateriaService service;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoSpyBean
+    private AlumnoMateriaRepository repo;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listAllRunsOneStatementRegardlessOfRows() {
+        seed(1);
+        long pocas = countStatements(() -> service.listAll(null, null));
+
+        seed(20);
+        long muchas = countStatements(() -> service.listAll(null, null));
+
+        assertThat(pocas).isEqualTo(1);
+        assertThat(muchas).isEqualTo(pocas);
+    }
+
+    @Test
+    void boletaRunsConstantStatementsRegardlessOfRows() {
+        seed(1);
+        long pocas = countStatements(() -> service.listByAlumnoAuth0Id(AUTH0_ID));
+
+        seed(20);
+        long muchas = countStatements(() -> service.listByAlumnoAuth0Id(AUTH0_ID));
+
+        // El acumulado del alumno y la lista de materias
+        assertThat(pocas).isEqualTo(2);
+        assertThat(muchas).isEqualTo(pocas);
+        assertThat(service.listByAlumnoAuth0Id(AUTH0_ID).materias()).hasSize(21);
+    }
+
+    @Test
+    void exportStreamsOneStatementWithoutLoadingEntities() {
+        seed(1);
+        long pocas = countStatements(() -> service.export(null, row -> { }));
+
+        seed(20);
+        java.util.List<Object> filas = new java.util.ArrayList<>();
+        long muchas = countStatements(() -> service.export("2025-1", filas::add));
+
+        assertThat(pocas).isEqualTo(1);
+        assertThat(muchas).isEqualTo(pocas);
+        assertThat(filas).hasSize(21);
+        // Proyección a DTO: el contexto de persistencia no crece con las filas
+        assertThat(stats.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void sparseFieldsSelectOnlyRequestedColumns() {
+        var id = seed(20);
+
+        var page = new java.util.concurrent.atomic.AtomicReference<CursorPage<Map<String, Object>>>();
+        assertThat(countStatements(() -> page.set(service.listAll(null, 5, "notaFinal, alumnoId")))).isEqualTo(1);
+        assertThat(stats.getEntityLoadCount()).isZero();
+        assertThat(page.get().items()).hasSize(5);
+        assertThat(page.get().items().get(0).keySet()).containsExactly("id", "notaFinal", "alumnoId");
+        assertThat(page.get().nextCursor()).isNotNull();
+
+        assertThat(service.getById(id, "ciclo")).containsOnlyKeys("id", "ciclo").containsEntry("id", id);
+        assertThatThrownBy(() -> service.listAll(null, null, "nombres"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("nombres");
+    }
+
+    @Test
+    void getByIdRunsOneStatement() {
+        var id = seed(1);
+
+        assertThat(countStatements(() -> service.getById(id))).isEqualTo(1);
+    }
+
+    @Test
+    void createBatchRunsConstantStatementsRegardlessOfRows() {
+        var pocas = batch(2);
+        long stmtsPocas = countStatements(() -> service.createBatch(pocas));
+
+        var muchas = batch(20);
+        long stmtsMuchas = countStatements(() -> service.createBatch(muchas));
+
+        // Reenviar el mismo lote: todo son duplicados y no hay INSERT
+        long stmtsRepetidas = countStatements(() -> service.createBatch(muchas));
+
+        assertThat(stmtsMuchas).isEqualTo(stmtsPocas);
+        assertThat(stmtsRepetidas).isEqualTo(stmtsPocas - 1);
+        assertThat(service.createBatch(muchas).failed()).isEqualTo(20);
+    }
+
+    @Test
+    void createRunsReferenceCheckAndInsertOnly() {
+        var req = batch(1).get(0);
+
+        assertThat(countStatements(() -> service.create(req))).isEqualTo(2);
+    }
+
+    @Test
+    void duplicateCreateIsRejectedByUniqueIndexWithoutPreCheck() {
+        var req = batch(1).get(0);
+        service.create(req);
+
+        em.clear();
+        stats.clear();
+        assertThatThrownBy(() -> service.create(req))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Ya existe una inscripción para este alumno, materia y ciclo");
+        // Sin SELECT de duplicados: la verificación de referencias y el INSERT rechazado
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void createBatchRaceOnUniqueIndexIsConflict() {
+        var req = batch(1).get(0);
+        service.create(req);
+        // Como si el alta concurrente llegara después de la consulta de duplicados
+        doReturn(java.util.List.of()).when(repo).findExistingKeys(any(), any(), any());
+
+        assertThatThrownBy(() -> service.createBatch(java.util.List.of(req)))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("Otra petición inscribió al mismo alumno, materia y ciclo");
+    }
+
+    @Test
+    void createKeepsNotFoundMessages() {
+        var req = batch(1).get(0);
+        var sinMateria = new AlumnoMateriaRequest(
+                req.alumnoId(), java.util.UUID.randomUUID(), req.docenteId(), req.ciclo(), req.notaFinal());
+        var sinDocente = new AlumnoMateriaRequest(
+                req.alumnoId(), req.materiaId(), java.util.UUID.randomUUID(), req.ciclo(), req.notaFinal());
+
+        assertThatThrownBy(() -> service.create(sinMateria))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Materia no encontrada: " + sinMateria.materiaId());
+        assertThatThrownBy(() -> service.create(sinDocente))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Docente no encontrado: " + sinDocente.docenteId());
+    }
+
+    private long countStatements(Runnable call) {
+        em.flush();
+        em.clear();
+        // Se mide la consulta, no la cache de boletas ni la de segundo nivel
+        cacheManager.getCache(CacheConfig.BOLETA).invalidate();
+        emf.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        stats.clear();
+        call.run();
+        em.flush();
+        return stats.getPrepareStatementCount();
+    }
+
+    /** Inserta {@code n} inscripciones, cada una con su propia materia y docente. */
+    private java.util.UUID seed(int n) {
+        AlumnoEntity alumno = alumno();
+        java.util.UUID last = null;
+        for (int i = 0; i < n; i++) {
+            MateriaEntity materia = new MateriaEntity();
+            materia.setNombreMateria("Materia " + i + " " + System.nanoTime());
+            em.persist(materia);
+
+            DocenteEntity docente = new DocenteEntity();
+            docente.setNombres("Docente " + i);
+            docente.setApellidos("Prueba");
+            docente.setFechaIngreso(LocalDate.of(2024, 1, 15));
+            em.persist(docente);
+
+            AlumnoMateriaEntity am = new AlumnoMateriaEntity();
+            am.setAlumno(alumno);
+            am.setMateria(materia);
+            am.setDocente(docente);
+            am.setCiclo("2025-1");
+            am.setNotaFinal(70.0 + i % 30);
+            last = em.persist(am).getId();
+        }
+        em.flush();
+        return last;
+    }
+
+    /** Solicitudes de inscripción nuevas para {@code n} materias y un docente ya existentes. */
+    private java.util.List<AlumnoMateriaRequest> batch(int n) {
+        AlumnoEntity alumno = alumno();
+        DocenteEntity docente = new DocenteEntity();
+        docente.setNombres("Docente lote");
+        docente.setApellidos("Prueba");
+        docente.setFechaIngreso(LocalDate.of(2024, 1, 15));
+        em.persist(docente);
+        java.util.List<AlumnoMateriaRequest> requests = new java.util.ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            MateriaEntity materia = new MateriaEntity();
+            materia.setNombreMateria("Materia lote " + i + " " + System.nanoTime());
+            em.persist(materia);
+            requests.add(new AlumnoMateriaRequest(
+                    alumno.getIdAlumno(), materia.getIdMateria(), docente.getIdDocente(), "2025-2", 80.0));
+        }
+        em.flush();
+        return requests;
+    }
+
+    private AlumnoEntity alumno() {
+        var existente = em.getEntityManager()
+                .createQuery("select a from AlumnoEntity a where a.auth0Id = :id", AlumnoEntity.class)
+                .setParameter("id", AUTH0_ID)
+                .getResultStream()
+                .findFirst();
+        if (existente.isPresent()) {
+            return existente.get();
+        }
+        AlumnoEntity a = new AlumnoEntity();
+        a.setAuth0Id(AUTH0_ID);
+        a.setNombres("Ana");
+        a.setApellidos("López");
+        a.setFechaIngreso(LocalDate.of(2025, 1, 10));
+        a.setDireccion("Calle 1");
+        a.setTelefono("555-1234");
+        return em.persist(a);
+    }
+}
@@ -0,0 +1,186 @@
+package com.carlospuente.fullstackauth.service;
+
+import com.carlospuente.fullstackauth.config.CacheConfig;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaBoletaResponse;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaRequest;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoRequest;
+import com.carlospuente.fullstackauth.domain.dto.DocenteRequest;
+import com.carlospuente.fullstackauth.domain.dto.MateriaRequest;
+import com.carlospuente.fullstackauth.repository.AlumnoMateriaRepository;
+import com.carlospuente.fullstackauth.repository.AlumnoRepository;
+import com.carlospuente.fullstackauth.repository.DocenteRepository;
+import com.carlospuente.fullstackauth.repository.MateriaRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * La boleta cacheada por auth0Id se descarta al confirmar cualquier escritura
+ * que cambie sus materias o su promedio. Sin @Transactional en la prueba: los
+ * evict se aplican hasta el commit de cada servicio.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BoletaCacheTest {
+
+    @Autowired
+    private AlumnoMateriaService inscripciones;
+
+    @Autowired
+    private AlumnoService alumnos;
+
+    @Autowired
+    private MateriaService materias;
+
+    @Autowired
+    private DocenteService docentes;
+
+    @Autowired
+    private EstadisticaService estadisticas;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private AlumnoMateriaRepository inscripcionRepo;
+
+    @Autowired
+    private AlumnoRepository alumnoRepo;
+
+    @Autowired
+    private MateriaRepository materiaRepo;
+
+    @Autowired
+    private DocenteRepository docenteRepo;
+
+    private Cache boletas;
+    private UUID docente;
+
+    @BeforeEach
+    void setUp() {
+        boletas = cacheManager.getCache(CacheConfig.BOLETA);
+        boletas.clear();
+        docente = docentes.create(new DocenteRequest("Ana", "Docente", LocalDate.of(2024, 1, 15))).idDocente();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inscripcionRepo.deleteAll();
+        alumnoRepo.deleteAll();
+        materiaRepo.deleteAll();
+        docenteRepo.deleteAll();
+        boletas.clear();
+    }
+
+    @Test
+    void secondReadIsAHitUntilAnEnrollmentChanges() {
+        String auth0Id = "auth0|boleta-hit";
+        UUID alumno = alumno(auth0Id);
+        inscribir(alumno, materia("Álgebra"), 70.0);
+        CacheStats antes = stats();
+
+        var primera = inscripciones.listByAlumnoAuth0Id(auth0Id);
+        var segunda = inscripciones.listByAlumnoAuth0Id(auth0Id);
+        assertThat(segunda).isSameAs(primera);
+        CacheStats lecturas = stats().minus(antes);
+        assertThat(lecturas.missCount()).isEqualTo(1);
+        assertThat(lecturas.hitCount()).isEqualTo(1);
+
+        // Otro alumno no toca esta entrada; una inscripción del mismo sí
+        inscribir(alumno(auth0Id + "-otro"), materia("Lógica"), 40.0);
+        assertThat(boletas.get(auth0Id)).isNotNull();
+        inscribir(alumno, materia("Ética"), 90.0);
+        assertThat(boletas.get(auth0Id)).isNull();
+        assertThat(inscripciones.listByAlumnoAuth0Id(auth0Id).promedio()).isEqualTo(80.0);
+    }
+
+    @Test
+    void renamingAMateriaEvictsItsAlumnos() {
+        String auth0Id = "auth0|boleta-rename";
+        UUID calculo = materia("Cálculo");
+        inscribir(alumno(auth0Id), calculo, 75.0);
+        String otro = auth0Id + "-otro";
+        inscribir(alumno(otro), materia("Biología"), 75.0);
+        inscripciones.listByAlumnoAuth0Id(auth0Id);
+        inscripciones.listByAlumnoAuth0Id(otro);
+
+        materias.update(calculo, new MateriaRequest("Cálculo I"));
+
+        assertThat(boletas.get(auth0Id)).isNull();
+        assertThat(boletas.get(otro)).isNotNull();
+        assertThat(inscripciones.listByAlumnoAuth0Id(auth0Id).materias())
+                .extracting(AlumnoMateriaBoletaResponse::materiaNombre).containsExactly("Cálculo I");
+    }
+
+    @Test
+    void deletingAMateriaEvictsItsAlumnos() {
+        String auth0Id = "auth0|boleta-materia";
+        UUID alumno = alumno(auth0Id);
+        UUID calculo = materia("Cálculo");
+        UUID fisica = materia("Física");
+        inscribir(alumno, calculo, 50.0);
+        inscribir(alumno, fisica, 90.0);
+        assertThat(inscripciones.listByAlumnoAuth0Id(auth0Id).promedio()).isEqualTo(70.0);
+
+        materias.delete(fisica);
+
+        assertThat(boletas.get(auth0Id)).isNull();
+        var boleta = inscripciones.listByAlumnoAuth0Id(auth0Id);
+        assertThat(boleta.materias()).hasSize(1);
+        assertThat(boleta.promedio()).isEqualTo(50.0);
+    }
+
+    @Test
+    void deletingAnAlumnoEvictsItsBoleta() {
+        String auth0Id = "auth0|boleta-alumno";
+        UUID alumno = alumno(auth0Id);
+        inscribir(alumno, materia("Química"), 80.0);
+        assertThat(inscripciones.listByAlumnoAuth0Id(auth0Id).materias()).hasSize(1);
+
+        alumnos.delete(alumno);
+
+        assertThat(boletas.get(auth0Id)).isNull();
+        assertThat(inscripciones.listByAlumnoAuth0Id(auth0Id).materias()).isEmpty();
+    }
+
+    @Test
+    void rebuildClearsEveryBoleta() {
+        String auth0Id = "auth0|boleta-rebuild";
+        inscribir(alumno(auth0Id), materia("Historia"), 60.0);
+        inscripciones.listByAlumnoAuth0Id(auth0Id);
+        assertThat(boletas.get(auth0Id)).isNotNull();
+
+        estadisticas.rebuild();
+
+        assertThat(boletas.get(auth0Id)).isNull();
+    }
+
+    private CacheStats stats() {
+        return ((com.github.benmanes.caffeine.cache.Cache<?, ?>) boletas.getNativeCache()).stats();
+    }
+
+    private UUID alumno(String auth0Id) {
+        String apellidos = auth0Id.substring(auth0Id.indexOf('|') + 1);
+        return alumnos.create(new AlumnoRequest(
+                "Alumno", apellidos, LocalDate.of(2025, 1, 10), "Calle 1", "555-1234"), auth0Id).idAlumno();
+    }
+
+    private UUID materia(String nombre) {
+        return materias.create(new MateriaRequest(nombre)).idMateria();
+    }
+
+    private void inscribir(UUID alumno, UUID materia, double nota) {
+        inscripciones.create(new AlumnoMateriaRequest(alumno, materia, docente, "2025-1", nota));
+    }
+}
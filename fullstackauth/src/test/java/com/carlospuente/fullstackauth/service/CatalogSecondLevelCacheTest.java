@@ -0,0 +1,110 @@
+package com.carlospuente.fullstackauth.service;
+
+import com.carlospuente.fullstackauth.config.CacheConfig;
+import com.carlospuente.fullstackauth.domain.dto.DocenteRequest;
+import com.carlospuente.fullstackauth.domain.dto.MateriaRequest;
+import com.carlospuente.fullstackauth.domain.dto.MateriaResponse;
+import com.carlospuente.fullstackauth.domain.mapper.DocenteMapper;
+import com.carlospuente.fullstackauth.domain.mapper.MateriaMapper;
+import com.carlospuente.fullstackauth.exception.ResourceNotFoundException;
+import com.carlospuente.fullstackauth.repository.DocenteRepository;
+import com.carlospuente.fullstackauth.repository.MateriaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Materias y docentes se leen de la cache de segundo nivel, y toda escritura
+ * hecha por sus servicios se refleja en la siguiente lectura.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MateriaServiceImpl.class, MateriaMapper.class, DocenteServiceImpl.class, DocenteMapper.class,
+        EstadisticaServiceImpl.class, CacheConfig.class})
+// Sin transacción de prueba: la cache L2 se llena al hacer commit
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogSecondLevelCacheTest {
+
+    @Autowired
+    private MateriaService materias;
+
+    @Autowired
+    private DocenteService docentes;
+
+    @Autowired
+    private MateriaRepository materiaRepo;
+
+    @Autowired
+    private DocenteRepository docenteRepo;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        materiaRepo.deleteAll();
+        docenteRepo.deleteAll();
+    }
+
+    @Test
+    void getByIdIsServedFromCacheAndReflectsUpdates() {
+        var materia = materias.create(new MateriaRequest("Álgebra"));
+        var docente = docentes.create(new DocenteRequest("Luis", "Pérez", LocalDate.of(2020, 2, 1)));
+
+        stats.clear();
+        materias.getById(materia.idMateria());
+        docentes.getById(docente.idDocente());
+        assertThat(stats.getPrepareStatementCount()).isZero();
+        assertThat(stats.getSecondLevelCacheHitCount()).isEqualTo(2);
+
+        materias.update(materia.idMateria(), new MateriaRequest("Álgebra lineal"));
+        stats.clear();
+        assertThat(materias.getById(materia.idMateria()).nombreMateria()).isEqualTo("Álgebra lineal");
+        assertThat(stats.getPrepareStatementCount()).isZero();
+
+        materias.delete(materia.idMateria());
+        assertThatThrownBy(() -> materias.getById(materia.idMateria()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void listingIsServedFromQueryCacheUntilTheTableChanges() {
+        materias.create(new MateriaRequest("Historia"));
+        materias.listAll(null, null);
+
+        stats.clear();
+        materias.listAll(null, null);
+        assertThat(stats.getPrepareStatementCount()).isZero();
+        assertThat(stats.getQueryCacheHitCount()).isEqualTo(1);
+
+        materias.create(new MateriaRequest("Geografía"));
+        stats.clear();
+        var page = materias.listAll(null, null);
+        assertThat(page.items()).extracting(MateriaResponse::nombreMateria)
+                .containsExactlyInAnyOrder("Historia", "Geografía");
+        assertThat(stats.getQueryCacheHitCount()).isZero();
+    }
+}
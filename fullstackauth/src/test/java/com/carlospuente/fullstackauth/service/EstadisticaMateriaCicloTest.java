@@ -0,0 +1,147 @@
+package com.carlospuente.fullstackauth.service;
+
+import com.carlospuente.fullstackauth.config.CacheConfig;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaRequest;
+import com.carlospuente.fullstackauth.domain.dto.EstadisticaMateriaCicloResponse;
+import com.carlospuente.fullstackauth.domain.mapper.AlumnoMateriaMapper;
+import com.carlospuente.fullstackauth.domain.model.AlumnoEntity;
+import com.carlospuente.fullstackauth.domain.model.DocenteEntity;
+import com.carlospuente.fullstackauth.domain.model.MateriaEntity;
+import com.carlospuente.fullstackauth.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Las estadísticas mantenidas en cada alta, cambio y baja deben coincidir con
+ * las que da una reconstrucción completa.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AlumnoMateriaServiceImpl.class, AlumnoMateriaMapper.class, EstadisticaServiceImpl.class, CacheConfig.class})
+class EstadisticaMateriaCicloTest {
+
+    @Autowired
+    private AlumnoMateriaService inscripciones;
+
+    @Autowired
+    private EstadisticaService estadisticas;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private UUID materia;
+    private UUID docente;
+
+    @BeforeEach
+    void setUp() {
+        MateriaEntity m = new MateriaEntity();
+        m.setNombreMateria("Cálculo " + System.nanoTime());
+        materia = em.persist(m).getIdMateria();
+
+        DocenteEntity d = new DocenteEntity();
+        d.setNombres("Docente");
+        d.setApellidos("Estadísticas");
+        d.setFechaIngreso(LocalDate.of(2024, 1, 15));
+        docente = em.persist(d).getIdDocente();
+    }
+
+    @Test
+    void incrementalStatsMatchRebuild() {
+        var a = inscripciones.create(request(alumno(), "2025-1", 45.0));
+        var b = inscripciones.create(request(alumno(), "2025-1", 100.0));
+        inscripciones.createBatch(List.of(
+                request(alumno(), "2025-1", 72.5),
+                request(alumno(), "2025-1", 60.0),
+                request(alumno(), "2025-2", 88.0)));
+
+        // La mínima sube al cambiar 45 -> 59; la máxima sale con la baja del 100
+        inscripciones.update(a.id(), request(a.alumnoId(), "2025-1", 59.0));
+        inscripciones.delete(b.id());
+
+        var incremental = estadisticas.get(materia, "2025-1");
+        assertThat(incremental.inscritos()).isEqualTo(3);
+        assertThat(incremental.notaMinima()).isEqualTo(59.0);
+        assertThat(incremental.notaMaxima()).isEqualTo(72.5);
+        assertThat(incremental.promedio()).isEqualTo(63.83);
+        assertThat(incremental.tasaAprobacion()).isEqualTo(0.6667);
+        assertThat(incremental.histograma()).containsExactly(0L, 0L, 0L, 0L, 0L, 1L, 1L, 1L, 0L, 0L);
+
+        List<EstadisticaMateriaCicloResponse> antes = estadisticas.listByMateria(materia);
+        estadisticas.rebuild();
+        em.clear();
+        assertThat(estadisticas.listByMateria(materia)).isEqualTo(antes);
+    }
+
+    @Test
+    void boletaCarriesRunningAverageOfTheAlumno() {
+        UUID alumno = alumno();
+        String auth0Id = em.find(AlumnoEntity.class, alumno).getAuth0Id();
+        var a = inscripciones.create(request(alumno, "2025-1", 50.0));
+        inscripciones.createBatch(List.of(request(alumno, "2025-2", 90.0)));
+        var otra = otraMateria();
+        var c = inscripciones.create(new AlumnoMateriaRequest(alumno, otra, docente, "2025-1", 70.0));
+
+        inscripciones.update(a.id(), request(alumno, "2025-1", 65.0));
+        inscripciones.delete(c.id());
+
+        var boleta = inscripciones.listByAlumnoAuth0Id(auth0Id);
+        assertThat(boleta.materias()).hasSize(2);
+        assertThat(boleta.promedio()).isEqualTo(77.5);
+        assertThat(boleta.materiasConNota()).isEqualTo(2);
+        assertThat(boleta.materiasAprobadas()).isEqualTo(2);
+
+        estadisticas.rebuild();
+        em.clear();
+        assertThat(inscripciones.listByAlumnoAuth0Id(auth0Id)).isEqualTo(boleta);
+    }
+
+    @Test
+    void groupWithoutEnrollmentsIsNotFound() {
+        var a = inscripciones.create(request(alumno(), "2025-2", 90.0));
+        inscripciones.delete(a.id());
+
+        assertThatThrownBy(() -> estadisticas.get(materia, "2025-2"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(estadisticas.listByMateria(materia)).isEmpty();
+    }
+
+    private AlumnoMateriaRequest request(UUID alumno, String ciclo, double nota) {
+        return new AlumnoMateriaRequest(alumno, materia, docente, ciclo, nota);
+    }
+
+    private UUID otraMateria() {
+        MateriaEntity m = new MateriaEntity();
+        m.setNombreMateria("Física " + System.nanoTime());
+        return em.persist(m).getIdMateria();
+    }
+
+    private final List<UUID> alumnos = new ArrayList<>();
+
+    private UUID alumno() {
+        AlumnoEntity a = new AlumnoEntity();
+        a.setAuth0Id("auth0|estadisticas-" + alumnos.size() + "-" + System.nanoTime());
+        a.setNombres("Alumno " + alumnos.size());
+        a.setApellidos("Prueba");
+        a.setFechaIngreso(LocalDate.of(2025, 1, 10));
+        a.setDireccion("Calle 1");
+        a.setTelefono("555-1234");
+        UUID id = em.persist(a).getIdAlumno();
+        alumnos.add(id);
+        return id;
+    }
+}
@@ -0,0 +1,79 @@
+package com.carlospuente.fullstackauth.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameSearchIndexTest {
+
+    private final NameSearchIndex<String> index = new NameSearchIndex<>();
+    private final UUID ana = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index.put(ana, "Ana María", "González Pérez", "ana");
+        index.put(UUID.randomUUID(), "Andrés", "López", "andres");
+        index.put(UUID.randomUUID(), "Julio", "Gómez", "julio");
+    }
+
+    @Test
+    void matchesPrefixesIgnoringCaseAndAccents() {
+        assertThat(index.search("an", 10)).containsExactly("ana", "andres");
+        assertThat(index.search("GONZ", 10)).containsExactly("ana");
+        assertThat(index.search("gomez", 10)).containsExactly("julio");
+        assertThat(index.search("ana gonz", 10)).containsExactly("ana");
+        assertThat(index.search("an lop", 10)).containsExactly("andres");
+    }
+
+    @Test
+    void toleratesTyposInLongerWords() {
+        assertThat(index.search("gonzales", 10)).containsExactly("ana");
+        assertThat(index.search("lopes", 10)).containsExactly("andres");
+        // En palabras cortas no hay tolerancia: "juan" no es "julio"
+        assertThat(index.search("juan", 10)).isEmpty();
+    }
+
+    @Test
+    void sameMatchesWhenTheQueryTouchesASmallPartOfALargeIndex() {
+        // Relleno con nombres al azar: las búsquedas de abajo tocan pocas listas
+        // y los candidatos se revisan uno a uno en vez de contar sobre todo el índice
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            index.put(UUID.randomUUID(), word(random), word(random) + " " + word(random), "relleno");
+        }
+
+        assertThat(index.search("GONZ", 10)).containsExactly("ana");
+        assertThat(index.search("gonzales", 10)).containsExactly("ana");
+        assertThat(index.search("ana gonz", 10)).containsExactly("ana");
+        assertThat(index.search("lopes", 10)).containsExactly("andres");
+        assertThat(index.search("gomez", 10)).containsExactly("julio");
+
+        index.put(ana, "Ana", "Ramírez", "ana");
+        assertThat(index.search("gonzalez", 10)).isEmpty();
+        assertThat(index.search("ramirez", 10)).containsExactly("ana");
+    }
+
+    @Test
+    void updatesAndRemovalsAreVisibleImmediately() {
+        index.put(ana, "Ana", "Ramírez", "ana");
+        assertThat(index.search("gonzalez", 10)).isEmpty();
+        assertThat(index.search("ramirez", 10)).containsExactly("ana");
+
+        index.remove(ana);
+        assertThat(index.search("ana", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    // Siete letras entre q y z: apenas comparte trigramas con los nombres de prueba
+    private static String word(Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            sb.append((char) ('q' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+}
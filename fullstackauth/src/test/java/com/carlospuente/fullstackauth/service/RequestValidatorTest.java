@@ -0,0 +1,74 @@
+package com.carlospuente.fullstackauth.service;
+
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaRequest;
+import com.carlospuente.fullstackauth.domain.dto.AlumnoRequest;
+import com.carlospuente.fullstackauth.domain.dto.MateriaRequest;
+import com.carlospuente.fullstackauth.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.InstanceOfAssertFactories.list;
+
+class RequestValidatorTest {
+
+    private final AlumnoServiceImpl alumnos = new AlumnoServiceImpl(null, null, null, null, null, null);
+    private final MateriaServiceImpl materias = new MateriaServiceImpl(null, null, null, null, null, null);
+    private final AlumnoMateriaServiceImpl inscripciones =
+            new AlumnoMateriaServiceImpl(null, null, null, null, null, null, null);
+
+    @Test
+    void validRequestsPass() {
+        assertThatCode(() -> alumnos.validateRequest(new AlumnoRequest(
+                "Ana", "López", LocalDate.now(), "Av. Reforma 123", "+52 55-1234-5678")))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> materias.validateRequest(new MateriaRequest("  Álgebra  ")))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> inscripciones.validateRequest(new AlumnoMateriaRequest(
+                UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "2025-2", 100.0)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void reportsAllViolationsAtOnce() {
+        var req = new AlumnoRequest(" ", null, LocalDate.now().plusDays(1), "x".repeat(256), "55-12ab");
+
+        assertThatThrownBy(() -> alumnos.validateRequest(req))
+                .isInstanceOf(BadRequestException.class)
+                .extracting(e -> ((BadRequestException) e).getViolations(), list(String.class))
+                .containsExactly(
+                        "El campo 'nombres' es obligatorio",
+                        "El campo 'apellidos' es obligatorio",
+                        "La fecha de ingreso no puede ser futura",
+                        "La dirección no puede superar 255 caracteres",
+                        "El teléfono tiene un formato inválido");
+    }
+
+    @Test
+    void telefonoLengthCountsThePlusSign() {
+        var req = new AlumnoRequest("Ana", "López", LocalDate.now(), "Av. Reforma 123", "+" + "5".repeat(20));
+
+        // El formato admite 20 dígitos tras el '+', pero la columna es de 20 caracteres
+        assertThatThrownBy(() -> alumnos.validateRequest(req))
+                .hasMessage("El teléfono no puede superar 20 caracteres");
+        assertThatCode(() -> alumnos.validateRequest(new AlumnoRequest(
+                "Ana", "López", LocalDate.now(), "Av. Reforma 123", "+" + "5".repeat(19))))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void formatRulesSkipMissingValues() {
+        var req = new AlumnoMateriaRequest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), null, null);
+
+        assertThatThrownBy(() -> inscripciones.validateRequest(req))
+                .hasMessage("El ciclo es obligatorio; La nota final es obligatoria");
+        assertThatThrownBy(() -> inscripciones.validateRequest(new AlumnoMateriaRequest(
+                UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), "2025-3", 101.0)))
+                .hasMessage("El ciclo debe tener formato YYYY-1 o YYYY-2; La nota final debe estar entre 0 y 100");
+        assertThatThrownBy(() -> materias.validateRequest(new MateriaRequest(" ab ")))
+                .hasMessage("El nombre de la materia debe tener entre 3 y 100 caracteres");
+    }
+}
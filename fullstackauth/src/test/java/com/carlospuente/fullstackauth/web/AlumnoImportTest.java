@@ -0,0 +1,134 @@
+package com.carlospuente.fullstackauth.web;
+
+import com.carlospuente.fullstackauth.domain.model.AlumnoEntity;
+import com.carlospuente.fullstackauth.repository.AlumnoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AlumnoImportTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoSpyBean
+    private AlumnoRepository alumnoRepo;
+
+    @BeforeEach
+    void setUp() {
+        AlumnoEntity a = new AlumnoEntity();
+        a.setAuth0Id("auth0|import-existente");
+        a.setNombres("Marta");
+        a.setApellidos("Ruiz");
+        a.setFechaIngreso(LocalDate.of(2025, 1, 10));
+        a.setDireccion("Calle 1");
+        a.setTelefono("555-1234");
+        alumnoRepo.save(a);
+    }
+
+    @AfterEach
+    void tearDown() {
+        alumnoRepo.deleteAll();
+    }
+
+    @Test
+    void importsValidRowsAndReportsTheRest() throws Exception {
+        // Con BOM y fin de línea CRLF, como lo guarda Excel
+        String csv = "\uFEFF" + """
+                auth0Id,nombres,apellidos,fechaIngreso,direccion,telefono\r
+                auth0|import-1,Ana,Gómez,2025-01-10,"Av. Central 10, depto 2",555-0001\r
+                auth0|import-2,Luis,Pérez,2025-01-10,Calle 2,555-0002\r
+                auth0|import-3,,Sin Nombre,2025-01-10,Calle 3,555-0003\r
+                auth0|import-4,Eva,Díaz,10/01/2025,Calle 4,555-0004\r
+                auth0|import-5,Marta,Ruiz,2025-01-10,Calle 5,555-0005\r
+                auth0|import-6,ANA,gómez,2025-01-10,Calle 6,555-0006\r
+                auth0|import-2,Otro,Alumno,2025-01-10,Calle 7,555-0007\r
+                auth0|import-existente,Nuevo,Alumno,2025-01-10,Calle 8,555-0008\r
+                """;
+
+        mvc.perform(post("/api/alumnos/import")
+                        .contentType("text/csv")
+                        .content(csv.getBytes(StandardCharsets.UTF_8))
+                        .with(writer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(8))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(6))
+                .andExpect(jsonPath("$.errors[*].linea").value(contains(4, 5, 6, 7, 8, 9)))
+                .andExpect(jsonPath("$.errors[*].status").value(contains(400, 400, 409, 409, 409, 409)));
+
+        assertThat(alumnoRepo.findByAuth0Id("auth0|import-1"))
+                .hasValueSatisfying(a -> assertThat(a.getDireccion()).isEqualTo("Av. Central 10, depto 2"));
+        assertThat(alumnoRepo.count()).isEqualTo(3);
+
+        // El índice de búsqueda se actualiza al confirmar la transacción
+        mvc.perform(get("/api/alumnos/search?q=Luis").with(jwt().authorities(new SimpleGrantedAuthority("READ:ALUMNOS"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].apellidos").value("Pérez"));
+    }
+
+    @Test
+    void failedChunkIsReportedWithoutUndoingEarlierChunks() throws Exception {
+        // Un alta concurrente que no ve la consulta de duplicados: el INSERT del bloque choca
+        doReturn(List.of()).when(alumnoRepo).findExistingAuth0Ids(any());
+        StringBuilder csv = new StringBuilder("auth0Id,nombres,apellidos,fechaIngreso,direccion,telefono\n");
+        for (int i = 0; i < 1000; i++) {
+            csv.append("auth0|lote-").append(i).append(",Alumno ").append(i).append(",Lote,2025-01-10,Calle 1,555-0001\n");
+        }
+        csv.append("auth0|lote-tarde,Alumno,Tarde,2025-01-10,Calle 2,555-0002\n");
+        csv.append("auth0|import-existente,Alumno,Repetido,2025-01-10,Calle 3,555-0003\n");
+
+        mvc.perform(post("/api/alumnos/import")
+                        .contentType("text/csv")
+                        .content(csv.toString().getBytes(StandardCharsets.UTF_8))
+                        .with(writer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1002))
+                .andExpect(jsonPath("$.created").value(1000))
+                .andExpect(jsonPath("$.errors[*].linea").value(contains(1002, 1003)))
+                .andExpect(jsonPath("$.errors[*].status").value(contains(409, 409)));
+
+        assertThat(alumnoRepo.count()).isEqualTo(1001);
+        assertThat(alumnoRepo.findByAuth0Id("auth0|lote-tarde")).isEmpty();
+    }
+
+    @Test
+    void missingColumnIsBadRequest() throws Exception {
+        mvc.perform(post("/api/alumnos/import")
+                        .contentType("text/csv")
+                        .content("nombres,apellidos\nAna,Gómez\n")
+                        .with(writer()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("fechaIngreso")));
+    }
+
+    private static RequestPostProcessor writer() {
+        return jwt().authorities(new SimpleGrantedAuthority("WRITE:ALUMNOS"));
+    }
+}
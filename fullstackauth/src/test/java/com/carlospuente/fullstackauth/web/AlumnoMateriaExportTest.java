@@ -0,0 +1,135 @@
+package com.carlospuente.fullstackauth.web;
+
+import com.carlospuente.fullstackauth.domain.dto.AlumnoMateriaRequest;
+import com.carlospuente.fullstackauth.domain.model.AlumnoEntity;
+import com.carlospuente.fullstackauth.domain.model.DocenteEntity;
+import com.carlospuente.fullstackauth.domain.model.MateriaEntity;
+import com.carlospuente.fullstackauth.repository.AlumnoRepository;
+import com.carlospuente.fullstackauth.repository.DocenteRepository;
+import com.carlospuente.fullstackauth.repository.MateriaRepository;
+import com.carlospuente.fullstackauth.service.AlumnoMateriaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AlumnoMateriaExportTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private AlumnoMateriaService inscripciones;
+
+    @Autowired
+    private AlumnoRepository alumnoRepo;
+
+    @Autowired
+    private MateriaRepository materiaRepo;
+
+    @Autowired
+    private DocenteRepository docenteRepo;
+
+    private UUID materia;
+
+    @BeforeEach
+    void setUp() {
+        MateriaEntity m = new MateriaEntity();
+        m.setNombreMateria("Cálculo, \"parte\" 1");
+        materia = materiaRepo.save(m).getIdMateria();
+
+        DocenteEntity d = new DocenteEntity();
+        d.setNombres("Docente");
+        d.setApellidos("Exportación");
+        d.setFechaIngreso(LocalDate.of(2024, 1, 15));
+        UUID docente = docenteRepo.save(d).getIdDocente();
+
+        inscripciones.create(new AlumnoMateriaRequest(alumno("Ana"), materia, docente, "2025-1", 90.0));
+        inscripciones.create(new AlumnoMateriaRequest(alumno("Luis"), materia, docente, "2025-1", 55.5));
+        inscripciones.create(new AlumnoMateriaRequest(alumno("Eva"), materia, docente, "2025-2", 70.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        alumnoRepo.deleteAll();
+        materiaRepo.deleteAll();
+        docenteRepo.deleteAll();
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        MvcResult result = export("/api/alumno-materias/export?ciclo=2025-1");
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"inscripciones-2025-1.ndjson\""));
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":").contains("\"ciclo\":\"2025-1\"").endsWith("}");
+        assertThat(lines).anyMatch(l -> l.contains("\"nombres\":\"Luis\"") && l.contains("\"notaFinal\":55.5"));
+    }
+
+    @Test
+    void csvHasHeaderAndQuotesWhenNeeded() throws Exception {
+        MvcResult result = export("/api/alumno-materias/export?format=csv");
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"));
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines[0]).isEqualTo("id,alumnoId,apellidos,nombres,materiaId,materia,docenteId,ciclo,notaFinal");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[1]).contains(",\"Cálculo, \"\"parte\"\" 1\",");
+    }
+
+    @Test
+    void unknownFormatIsBadRequest() throws Exception {
+        mvc.perform(get("/api/alumno-materias/export?format=xml").with(reader()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MvcResult export(String path) throws Exception {
+        return mvc.perform(get(path).with(reader()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static RequestPostProcessor reader() {
+        return jwt().authorities(new SimpleGrantedAuthority("READ:ALUMNO_MATERIAS"));
+    }
+
+    private UUID alumno(String nombre) {
+        AlumnoEntity a = new AlumnoEntity();
+        a.setAuth0Id("auth0|export-" + nombre + "-" + System.nanoTime());
+        a.setNombres(nombre);
+        a.setApellidos("Prueba");
+        a.setFechaIngreso(LocalDate.of(2025, 1, 10));
+        a.setDireccion("Calle 1");
+        a.setTelefono("555-1234");
+        return alumnoRepo.save(a).getIdAlumno();
+    }
+}
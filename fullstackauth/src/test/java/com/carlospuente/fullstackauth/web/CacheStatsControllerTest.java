@@ -0,0 +1,39 @@
+package com.carlospuente.fullstackauth.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheStatsControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void studentTokenCannotReadCacheStats() throws Exception {
+        mvc.perform(get("/api/cache/stats")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("READ:ALUMNOS"))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void statsRequireTheirOwnAuthority() throws Exception {
+        mvc.perform(get("/api/cache/stats")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("READ:CACHE_STATS"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItem("boleta")));
+    }
+}
@@ -0,0 +1,123 @@
+package com.carlospuente.fullstackauth.web;
+
+import com.carlospuente.fullstackauth.domain.dto.MateriaRequest;
+import com.carlospuente.fullstackauth.repository.MateriaRepository;
+import com.carlospuente.fullstackauth.service.MateriaService;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MateriaService materias;
+
+    @Autowired
+    private MateriaRepository materiaRepo;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        materiaRepo.deleteAll();
+    }
+
+    @Test
+    void listAnswers304UntilSomethingChanges() throws Exception {
+        var creada = materias.create(new MateriaRequest("Cálculo"));
+        String etag = mvc.perform(read("/api/materias"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"1-");
+
+        stats.clear();
+        mvc.perform(read("/api/materias").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        // La versión de un catálogo sale de la cache de consultas
+        assertThat(stats.getPrepareStatementCount()).isZero();
+
+        materias.update(creada.idMateria(), new MateriaRequest("Cálculo integral"));
+        mvc.perform(read("/api/materias").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Cálculo integral")));
+    }
+
+    @Test
+    void singleEntityUsesItsOwnVersion() throws Exception {
+        var creada = materias.create(new MateriaRequest("Lógica"));
+        String path = "/api/materias/" + creada.idMateria();
+        String etag = mvc.perform(read(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Otra materia no cambia la versión de esta
+        materias.create(new MateriaRequest("Ética"));
+        mvc.perform(read(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mvc.perform(read("/api/materias/" + UUID.randomUUID()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cborIsNegotiatedAndSharesTheEtag() throws Exception {
+        materias.create(new MateriaRequest("Álgebra"));
+        String etag = mvc.perform(read("/api/materias"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(containsString(HttpHeaders.ACCEPT))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        byte[] cbor = mvc.perform(read("/api/materias").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new CBORMapper().readTree(cbor).get(0).get("nombreMateria").asText()).isEqualTo("Álgebra");
+    }
+
+    private static MockHttpServletRequestBuilder read(String path) {
+        return get(path).with(jwt().authorities(new SimpleGrantedAuthority("READ:MATERIAS")));
+    }
+}
@@ -0,0 +1,118 @@
+package com.carlospuente.fullstackauth.web;
+
+import com.carlospuente.fullstackauth.domain.model.MateriaEntity;
+import com.carlospuente.fullstackauth.repository.MateriaRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CursorPaginationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MateriaRepository materiaRepo;
+
+    @AfterEach
+    void tearDown() {
+        materiaRepo.deleteAll();
+    }
+
+    @Test
+    void followingTheCursorReturnsEveryRowOnceInIdOrder() throws Exception {
+        List<String> esperados = crear(23).stream().map(m -> m.getIdMateria().toString()).sorted().toList();
+
+        List<String> vistos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            var req = read("/api/materias").param("size", "5");
+            if (cursor != null) {
+                req.param("cursor", cursor);
+            }
+            MockHttpServletResponse res = mvc.perform(req).andExpect(status().isOk()).andReturn().getResponse();
+            List<String> ids = JsonPath.read(res.getContentAsString(), "$[*].idMateria");
+            assertThat(ids).hasSizeLessThanOrEqualTo(5).isNotEmpty();
+            vistos.addAll(ids);
+            cursor = res.getHeader(PageResponses.NEXT_CURSOR_HEADER);
+            paginas++;
+        } while (cursor != null);
+
+        assertThat(paginas).isEqualTo(5);
+        // Sin duplicados ni huecos, y en el orden de la llave (los UUID v7 ordenan igual como texto)
+        assertThat(vistos).containsExactlyElementsOf(esperados);
+    }
+
+    @Test
+    void sizeIsCappedAtTheMaximum() throws Exception {
+        crear(205);
+
+        String cursor = mvc.perform(read("/api/materias").param("size", "1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(200)))
+                .andExpect(header().exists(PageResponses.NEXT_CURSOR_HEADER))
+                .andReturn().getResponse().getHeader(PageResponses.NEXT_CURSOR_HEADER);
+
+        mvc.perform(read("/api/materias").param("size", "1000").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(5)));
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() throws Exception {
+        crear(3);
+
+        mvc.perform(read("/api/materias").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(header().doesNotExist(PageResponses.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() throws Exception {
+        // Base64 inválido, y Base64 válido que no son 16 bytes
+        for (String cursor : List.of("no es un cursor", "AAAA")) {
+            mvc.perform(read("/api/materias").param("cursor", cursor))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Cursor de paginación inválido"));
+        }
+        mvc.perform(read("/api/materias").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<MateriaEntity> crear(int n) {
+        return materiaRepo.saveAll(IntStream.range(0, n).mapToObj(i -> {
+            var m = new MateriaEntity();
+            m.setNombreMateria("Materia " + i);
+            return m;
+        }).toList());
+    }
+
+    private static MockHttpServletRequestBuilder read(String path) {
+        return get(path).with(jwt().authorities(new SimpleGrantedAuthority("READ:MATERIAS")));
+    }
+}
@@ -0,0 +1,41 @@
+package com.carlospuente.fullstackauth.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"management.server.port=0", "management.server.address=127.0.0.1"})
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class ManagementPortTest {
+
+    @Autowired
+    private TestRestTemplate http;
+
+    @LocalServerPort
+    private int apiPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void prometheusIsOnlyServedOnTheManagementPort() {
+        var scrape = http.getForEntity("http://127.0.0.1:" + managementPort + "/actuator/prometheus", String.class);
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody()).contains("hikaricp_connections");
+
+        var api = http.getForEntity("http://127.0.0.1:" + apiPort + "/actuator/prometheus", String.class);
+        assertThat(api.getStatusCode().is2xxSuccessful()).isFalse();
+        assertThat(api.getBody()).doesNotContain("hikaricp_connections");
+    }
+}
@@ -0,0 +1,135 @@
+package com.carlospuente.fullstackauth.web;
+
+import com.carlospuente.fullstackauth.domain.dto.AlumnoRequest;
+import com.carlospuente.fullstackauth.repository.AlumnoRepository;
+import com.carlospuente.fullstackauth.service.AlumnoService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SparseFieldsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private AlumnoService alumnos;
+
+    @Autowired
+    private AlumnoRepository alumnoRepo;
+
+    @AfterEach
+    void tearDown() {
+        alumnoRepo.deleteAll();
+    }
+
+    @Test
+    void listReturnsTheIdAndOnlyTheRequestedFields() throws Exception {
+        crear(2);
+
+        List<Map<String, Object>> rows = rows(mvc.perform(read("/api/alumnos").param("fields", "telefono, nombres"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse());
+
+        assertThat(rows).hasSize(2).allSatisfy(row ->
+                assertThat(row).containsOnlyKeys("idAlumno", "telefono", "nombres"));
+        assertThat(rows.get(0).get("telefono")).isEqualTo("555-1234");
+
+        // Pedir solo el ID (o repetirlo) no lo duplica
+        rows = rows(mvc.perform(read("/api/alumnos").param("fields", "idAlumno,idAlumno"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse());
+        assertThat(rows).allSatisfy(row -> assertThat(row).containsOnlyKeys("idAlumno"));
+    }
+
+    @Test
+    void getByIdReturnsTheIdAndOnlyTheRequestedFields() throws Exception {
+        UUID id = crear(1).get(0);
+
+        mvc.perform(read("/api/alumnos/" + id).param("fields", "apellidos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.idAlumno").value(id.toString()))
+                .andExpect(jsonPath("$.apellidos").value("Alumno 0"))
+                .andExpect(jsonPath("$.nombres").doesNotExist())
+                .andExpect(jsonPath("$.fechaIngreso").doesNotExist())
+                .andExpect(jsonPath("$.direccion").doesNotExist())
+                .andExpect(jsonPath("$.telefono").doesNotExist());
+    }
+
+    @Test
+    void unknownFieldIsBadRequest() throws Exception {
+        UUID id = crear(1).get(0);
+
+        mvc.perform(read("/api/alumnos").param("fields", "nombres,auth0Id"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Campo desconocido en 'fields': auth0Id")));
+        mvc.perform(read("/api/alumnos/" + id).param("fields", "promedio"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Campo desconocido en 'fields': promedio")));
+    }
+
+    @Test
+    void fieldsCombineWithTheCursor() throws Exception {
+        List<String> esperados = crear(5).stream().map(UUID::toString).sorted().toList();
+
+        // La primera página sin fields da un cursor que sirve para la proyección
+        String cursor = mvc.perform(read("/api/alumnos").param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(PageResponses.NEXT_CURSOR_HEADER);
+        List<String> vistos = new ArrayList<>(esperados.subList(0, 2));
+        while (cursor != null) {
+            MockHttpServletResponse res = mvc.perform(read("/api/alumnos")
+                            .param("size", "2").param("fields", "nombres").param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            List<Map<String, Object>> rows = rows(res);
+            assertThat(rows).hasSizeBetween(1, 2)
+                    .allSatisfy(row -> assertThat(row).containsOnlyKeys("idAlumno", "nombres"));
+            rows.forEach(row -> vistos.add((String) row.get("idAlumno")));
+            cursor = res.getHeader(PageResponses.NEXT_CURSOR_HEADER);
+        }
+
+        assertThat(vistos).containsExactlyElementsOf(esperados);
+    }
+
+    private List<UUID> crear(int n) {
+        return IntStream.range(0, n)
+                .mapToObj(i -> alumnos.create(new AlumnoRequest(
+                        "Ana", "Alumno " + i, LocalDate.of(2025, 1, 10), "Calle 1", "555-1234"),
+                        "auth0|fields-" + i).idAlumno())
+                .toList();
+    }
+
+    private static List<Map<String, Object>> rows(MockHttpServletResponse res) throws Exception {
+        return JsonPath.read(res.getContentAsString(), "$");
+    }
+
+    private static MockHttpServletRequestBuilder read(String path) {
+        return get(path).with(jwt().authorities(new SimpleGrantedAuthority("READ:ALUMNOS")));
+    }
+}
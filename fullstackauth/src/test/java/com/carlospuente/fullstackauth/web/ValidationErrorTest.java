@@ -0,0 +1,53 @@
+package com.carlospuente.fullstackauth.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ValidationErrorTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void badRequestListsEveryViolation() throws Exception {
+        mvc.perform(post("/api/alumnos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nombres":" ","apellidos":"López","fechaIngreso":"2024-01-10",
+                                 "direccion":"Av. Reforma 123","telefono":"+55555555555555555555"}
+                                """)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("WRITE:ALUMNOS"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "El campo 'nombres' es obligatorio; El teléfono no puede superar 20 caracteres"))
+                .andExpect(jsonPath("$.violations").value(contains(
+                        "El campo 'nombres' es obligatorio",
+                        "El teléfono no puede superar 20 caracteres")));
+    }
+
+    @Test
+    void otherErrorsCarryNoViolations() throws Exception {
+        mvc.perform(get("/api/materias/" + UUID.randomUUID())
+                        .with(jwt().authorities(new SimpleGrantedAuthority("READ:MATERIAS"))))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.violations").doesNotExist());
+    }
+}
@@ -0,0 +1,68 @@
+// Pico de inscripciones contra fullstackauth (k6).
+//
+//   k6 run -e BASE_URL=http://localhost:9090 -e TOKEN=<jwt> \
+//          --summary-export=results/<modo>.json enrollment-peak.js
+//
+// Mezcla: 60% listado de inscripciones, 25% boleta, 15% alta de inscripción.
+// El token debe tener READ:ALUMNO_MATERIAS y WRITE:ALUMNO_MATERIAS y
+// pertenecer a un alumno (para /me/boleta).
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:9090';
+const HEADERS = {
+  Authorization: `Bearer ${__ENV.TOKEN}`,
+  'Content-Type': 'application/json',
+};
+
+export const options = {
+  scenarios: {
+    pico: {
+      executor: 'ramping-arrival-rate',
+      startRate: 50,
+      timeUnit: '1s',
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+      stages: [
+        { target: 200, duration: '1m' },
+        { target: 800, duration: '2m' },
+        { target: 800, duration: '3m' },
+        { target: 0, duration: '30s' },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const get = (path) => http.get(`${BASE_URL}${path}`, { headers: HEADERS }).json();
+  return {
+    alumnos: get('/api/alumnos?size=200').map((a) => a.idAlumno),
+    materias: get('/api/materias?size=200').map((m) => m.idMateria),
+    docentes: get('/api/docentes?size=200').map((d) => d.idDocente),
+  };
+}
+
+const pick = (xs) => xs[Math.floor(Math.random() * xs.length)];
+
+export default function (data) {
+  const r = Math.random();
+  if (r < 0.6) {
+    const res = http.get(`${BASE_URL}/api/alumno-materias?size=50`, { headers: HEADERS, tags: { name: 'listado' } });
+    check(res, { 'listado 200': (x) => x.status === 200 });
+  } else if (r < 0.85) {
+    const res = http.get(`${BASE_URL}/api/alumno-materias/me/boleta`, { headers: HEADERS, tags: { name: 'boleta' } });
+    check(res, { 'boleta 200': (x) => x.status === 200 });
+  } else {
+    const body = JSON.stringify({
+      alumnoId: pick(data.alumnos),
+      materiaId: pick(data.materias),
+      docenteId: pick(data.docentes),
+      ciclo: `${2000 + Math.floor(Math.random() * 100)}-${1 + Math.floor(Math.random() * 2)}`,
+      notaFinal: Math.round(Math.random() * 100),
+    });
+    const res = http.post(`${BASE_URL}/api/alumno-materias`, body, { headers: HEADERS, tags: { name: 'alta' } });
+    // 409 es esperado cuando el azar repite alumno/materia/ciclo
+    check(res, { 'alta 201/409': (x) => x.status === 201 || x.status === 409 });
+  }
+}
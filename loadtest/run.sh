@@ -0,0 +1,31 @@
+#!/usr/bin/env bash
+# Corre el mismo pico contra el modo de plataforma y el de hilos virtuales.
+# Requiere una JVM 21+ (JAVA, por defecto el java del PATH), MySQL con datos y k6.
+#   TOKEN=<jwt> [JAVA=/ruta/a/jdk-21/bin/java] ./run.sh
+set -euo pipefail
+cd "$(dirname "$0")"
+mkdir -p results
+
+JAVA=${JAVA:-java}
+version=$("$JAVA" -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "${version%%.*}" -lt 21 ]; then
+  echo "Java $version: el modo virtual requiere Java 21+ (use JAVA=...)" >&2
+  exit 1
+fi
+
+JAR=$(ls ../fullstackauth/target/fullstackauth-*.jar | head -1)
+
+for modo in platform virtual; do
+  perfil=""
+  [ "$modo" = "virtual" ] && perfil="--spring.profiles.active=virtual"
+  # Un solo token para todo el pico: sin límite por principal
+  "$JAVA" -Djdk.tracePinnedThreads=short -jar "$JAR" $perfil --app.rate-limit.requests-per-second=0 \
+    > "results/$modo.log" 2>&1 &
+  pid=$!
+  until curl -sf http://localhost:9090/api/health > /dev/null; do sleep 1; done
+  k6 run -e TOKEN="$TOKEN" --summary-export="results/$modo.json" enrollment-peak.js
+  kill "$pid"; wait "$pid" || true
+done
+
+# Hilos fijados (pinning) detectados durante la corrida virtual
+grep -c "onPinned\|<== monitors" results/virtual.log || true
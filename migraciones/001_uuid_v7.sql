@@ -0,0 +1,65 @@
+-- --------------------------------------------------------------------------
+-- Migración única: reemplaza las llaves UUID aleatorias por UUID v7.
+--
+-- Las entidades ya generan UUID v7 para filas nuevas; este script reescribe
+-- las existentes derivando el prefijo de tiempo de created_at, de modo que el
+-- orden del índice clúster coincida con el de inserción.
+--
+-- Importante:
+--   * Ejecutar con la aplicación detenida y con respaldo previo.
+--   * Los IDs cambian: cualquier referencia externa guardada (marcadores,
+--     exportaciones) dejará de ser válida.
+--   * Con binlog activo se requiere log_bin_trust_function_creators = 1
+--     para crear la función auxiliar.
+-- --------------------------------------------------------------------------
+
+DROP FUNCTION IF EXISTS uuid_v7_from;
+
+DELIMITER //
+CREATE FUNCTION uuid_v7_from(ts DATETIME(6)) RETURNS BINARY(16)
+    NOT DETERMINISTIC NO SQL
+BEGIN
+    DECLARE ms  BIGINT    DEFAULT FLOOR(UNIX_TIMESTAMP(ts) * 1000);
+    DECLARE rnd BINARY(10) DEFAULT RANDOM_BYTES(10);
+    -- 48 bits de tiempo | versión 7 + 12 bits | variante 10 + 62 bits
+    RETURN UNHEX(CONCAT(
+        LPAD(HEX(ms), 12, '0'),
+        '7', SUBSTR(HEX(rnd), 1, 3),
+        HEX((ASCII(SUBSTR(rnd, 3, 1)) & 0x3F) | 0x80),
+        SUBSTR(HEX(rnd), 7, 14)
+    ));
+END//
+DELIMITER ;
+
+SET FOREIGN_KEY_CHECKS = 0;
+START TRANSACTION;
+
+CREATE TEMPORARY TABLE map_alumnos  (old_id BINARY(16) PRIMARY KEY, new_id BINARY(16) NOT NULL);
+CREATE TEMPORARY TABLE map_materias (old_id BINARY(16) PRIMARY KEY, new_id BINARY(16) NOT NULL);
+CREATE TEMPORARY TABLE map_docentes (old_id BINARY(16) PRIMARY KEY, new_id BINARY(16) NOT NULL);
+
+INSERT INTO map_alumnos  SELECT id_alumno,  uuid_v7_from(created_at) FROM alumnos;
+INSERT INTO map_materias SELECT id_materia, uuid_v7_from(created_at) FROM materias;
+INSERT INTO map_docentes SELECT id_docente, uuid_v7_from(created_at) FROM docentes;
+
+-- Primero las FK de alumno_materias, luego las PK de los catálogos
+UPDATE alumno_materias am JOIN map_alumnos  m ON am.id_alumno  = m.old_id SET am.id_alumno  = m.new_id;
+UPDATE alumno_materias am JOIN map_materias m ON am.id_materia = m.old_id SET am.id_materia = m.new_id;
+UPDATE alumno_materias am JOIN map_docentes m ON am.id_docente = m.old_id SET am.id_docente = m.new_id;
+
+UPDATE alumnos  t JOIN map_alumnos  m ON t.id_alumno  = m.old_id SET t.id_alumno  = m.new_id;
+UPDATE materias t JOIN map_materias m ON t.id_materia = m.old_id SET t.id_materia = m.new_id;
+UPDATE docentes t JOIN map_docentes m ON t.id_docente = m.old_id SET t.id_docente = m.new_id;
+
+UPDATE alumno_materias SET id = uuid_v7_from(created_at);
+
+COMMIT;
+SET FOREIGN_KEY_CHECKS = 1;
+
+DROP TEMPORARY TABLE map_alumnos;
+DROP TEMPORARY TABLE map_materias;
+DROP TEMPORARY TABLE map_docentes;
+DROP FUNCTION uuid_v7_from;
+
+-- Reconstruye los índices clúster en el nuevo orden y recupera el espacio fragmentado
+OPTIMIZE TABLE alumnos, materias, docentes, alumno_materias;
@@ -0,0 +1,20 @@
+-- --------------------------------------------------------------------------
+-- Índice único (id_alumno, id_materia, ciclo) en alumno_materias.
+--
+-- La aplicación ya no consulta duplicados antes de insertar: confía en este
+-- índice y traduce la violación a 409 Conflict. El índice también resuelve
+-- la búsqueda de duplicados de la inscripción en lote.
+-- --------------------------------------------------------------------------
+
+-- 1) Revisar duplicados existentes; el ALTER fallará si esta consulta devuelve filas
+SELECT HEX(id_alumno) AS alumno, HEX(id_materia) AS materia, ciclo, COUNT(*) AS veces
+FROM alumno_materias
+GROUP BY id_alumno, id_materia, ciclo
+HAVING COUNT(*) > 1;
+
+-- 2) Crear el índice único
+ALTER TABLE alumno_materias
+    ADD CONSTRAINT uk_alumno_materia_ciclo UNIQUE (id_alumno, id_materia, ciclo);
+
+-- 3) El índice de la FK de alumno queda cubierto por el prefijo del nuevo índice
+ALTER TABLE alumno_materias DROP INDEX FKrrobnix3bxfe9yqwt0798mffa;
@@ -0,0 +1,48 @@
+-- --------------------------------------------------------------------------
+-- Resumen de notas por materia y ciclo (estadisticas_materia_ciclo).
+--
+-- La aplicación lo actualiza en cada alta, cambio o baja de inscripción, así
+-- que GET /api/estadisticas lee una fila por PK. Este script crea la tabla y
+-- la llena con lo que ya hay; si alguna vez se desincroniza (p. ej. por un
+-- cambio hecho directo en MySQL) se repara con POST /api/estadisticas/rebuild.
+-- --------------------------------------------------------------------------
+
+-- 1) Tabla: contadores, suma, extremos y 10 rangos de 10 puntos ([90, 100] en hist_9)
+CREATE TABLE estadisticas_materia_ciclo (
+    id_materia  BINARY(16)  NOT NULL,
+    ciclo       VARCHAR(20) NOT NULL,
+    inscritos   BIGINT      NOT NULL,
+    con_nota    BIGINT      NOT NULL,
+    suma_notas  DOUBLE      NOT NULL,
+    aprobados   BIGINT      NOT NULL,
+    nota_minima DOUBLE      NULL,
+    nota_maxima DOUBLE      NULL,
+    hist_0 BIGINT NOT NULL, hist_1 BIGINT NOT NULL, hist_2 BIGINT NOT NULL, hist_3 BIGINT NOT NULL,
+    hist_4 BIGINT NOT NULL, hist_5 BIGINT NOT NULL, hist_6 BIGINT NOT NULL, hist_7 BIGINT NOT NULL,
+    hist_8 BIGINT NOT NULL, hist_9 BIGINT NOT NULL,
+    PRIMARY KEY (id_materia, ciclo)
+);
+
+-- 2) Índice para recalcular mínimo y máximo cuando sale la nota extrema
+CREATE INDEX idx_alumno_materias_materia_ciclo ON alumno_materias (id_materia, ciclo);
+
+-- 3) Carga inicial (la misma consulta que usa el rebuild)
+INSERT INTO estadisticas_materia_ciclo (id_materia, ciclo, inscritos, con_nota, suma_notas, aprobados,
+                                        nota_minima, nota_maxima,
+                                        hist_0, hist_1, hist_2, hist_3, hist_4,
+                                        hist_5, hist_6, hist_7, hist_8, hist_9)
+SELECT id_materia, ciclo, COUNT(*), COUNT(nota_final), COALESCE(SUM(nota_final), 0),
+       SUM(CASE WHEN nota_final >= 60 THEN 1 ELSE 0 END),
+       MIN(nota_final), MAX(nota_final),
+       SUM(CASE WHEN nota_final >= 0  AND nota_final < 10 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN nota_final >= 10 AND nota_final < 20 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN nota_final >= 20 AND nota_final < 30 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN nota_final >= 30 AND nota_final < 40 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN nota_final >= 40 AND nota_final < 50 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN nota_final >= 50 AND nota_final < 60 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN nota_final >= 60 AND nota_final < 70 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN nota_final >= 70 AND nota_final < 80 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN nota_final >= 80 AND nota_final < 90 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN nota_final >= 90 THEN 1 ELSE 0 END)
+FROM alumno_materias
+GROUP BY id_materia, ciclo;
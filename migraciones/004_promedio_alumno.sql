@@ -0,0 +1,22 @@
+-- --------------------------------------------------------------------------
+-- Acumulado de notas por alumno (suma, materias con nota, aprobadas).
+--
+-- La aplicación lo mantiene en la misma transacción que cada alta, cambio o
+-- baja de inscripción; /api/alumnos/me y la boleta lo leen de la fila del
+-- alumno. POST /api/estadisticas/rebuild también lo recalcula.
+-- --------------------------------------------------------------------------
+
+-- 1) Columnas
+ALTER TABLE alumnos
+    ADD COLUMN suma_notas         DOUBLE NOT NULL DEFAULT 0,
+    ADD COLUMN materias_con_nota  BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN materias_aprobadas BIGINT NOT NULL DEFAULT 0;
+
+-- 2) Carga inicial (la misma consulta que usa el rebuild)
+UPDATE alumnos a SET
+    suma_notas = COALESCE((SELECT SUM(am.nota_final) FROM alumno_materias am
+                           WHERE am.id_alumno = a.id_alumno), 0),
+    materias_con_nota = (SELECT COUNT(am.nota_final) FROM alumno_materias am
+                         WHERE am.id_alumno = a.id_alumno),
+    materias_aprobadas = (SELECT COUNT(*) FROM alumno_materias am
+                          WHERE am.id_alumno = a.id_alumno AND am.nota_final >= 60);